@@ -32,6 +32,11 @@ public interface HttpStatus {
      */
     int NOT_FOUND = 404;
 
+    /**
+     * 请求过于频繁
+     */
+    int TOO_MANY_REQUESTS = 429;
+
     /**
      * 服务器错误
      */
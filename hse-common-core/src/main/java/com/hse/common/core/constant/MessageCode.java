@@ -23,6 +23,9 @@ public enum MessageCode {
     INTERNAL_ERROR("0006", "message.internal.error"),
     PARAM_INVALID("0007", "message.param.invalid"),
     PARAM_MISSING("0008", "message.param.missing"),
+    LOCK_ACQUIRE_FAIL("0009", "message.lock.acquire.fail"),
+    TOO_MANY_REQUESTS("0010", "message.too.many.requests"),
+    REQUEST_TIMEOUT("0011", "message.request.timeout"),
 
     // ========== 用户模块 01xx ==========
     USER_NOT_EXIST("0101", "message.user.not.exist"),
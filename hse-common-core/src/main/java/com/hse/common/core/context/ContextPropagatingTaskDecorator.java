@@ -0,0 +1,45 @@
+package com.hse.common.core.context;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 上下文传递装饰器
+ * 按顺序应用所有 {@link ContextPropagator}，任务结束后逆序还原
+ *
+ * @author HSE
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    private final ContextPropagator[] propagators;
+
+    public ContextPropagatingTaskDecorator(List<ContextPropagator> propagators) {
+        this.propagators = new ArrayList<>(propagators).toArray(new ContextPropagator[0]);
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        if (propagators.length == 0) {
+            return runnable;
+        }
+        Object[] captured = new Object[propagators.length];
+        for (int i = 0; i < propagators.length; i++) {
+            captured[i] = propagators[i].capture();
+        }
+        return () -> {
+            Object[] previous = new Object[propagators.length];
+            for (int i = 0; i < propagators.length; i++) {
+                previous[i] = propagators[i].apply(captured[i]);
+            }
+            try {
+                runnable.run();
+            } finally {
+                for (int i = propagators.length - 1; i >= 0; i--) {
+                    propagators[i].restore(previous[i]);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.hse.common.core.context;
+
+/**
+ * 线程上下文传递
+ * 提交异步任务时在当前线程捕获上下文，执行前在工作线程中恢复，执行后还原工作线程原有的上下文
+ *
+ * 实现类注册为Spring Bean后由 {@link ContextPropagatingTaskDecorator} 统一应用
+ *
+ * @author HSE
+ */
+public interface ContextPropagator {
+
+    /**
+     * 在提交任务的线程中捕获上下文
+     */
+    Object capture();
+
+    /**
+     * 在工作线程中设置捕获的上下文
+     *
+     * @return 工作线程原有的上下文，用于 {@link #restore(Object)}
+     */
+    Object apply(Object captured);
+
+    /**
+     * 任务结束后还原工作线程原有的上下文
+     */
+    void restore(Object previous);
+}
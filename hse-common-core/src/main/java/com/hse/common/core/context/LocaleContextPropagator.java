@@ -0,0 +1,29 @@
+package com.hse.common.core.context;
+
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+/**
+ * 传递请求语言（LocaleContextHolder），异步线程中 MessageUtils / R 使用请求的语言
+ *
+ * @author HSE
+ */
+public class LocaleContextPropagator implements ContextPropagator {
+
+    @Override
+    public Object capture() {
+        return LocaleContextHolder.getLocaleContext();
+    }
+
+    @Override
+    public Object apply(Object captured) {
+        LocaleContext previous = LocaleContextHolder.getLocaleContext();
+        LocaleContextHolder.setLocaleContext((LocaleContext) captured);
+        return previous;
+    }
+
+    @Override
+    public void restore(Object previous) {
+        LocaleContextHolder.setLocaleContext((LocaleContext) previous);
+    }
+}
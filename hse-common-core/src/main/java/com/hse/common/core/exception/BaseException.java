@@ -6,7 +6,7 @@ import lombok.EqualsAndHashCode;
 
 /**
  * 基础异常
- * 支持国际化消息码
+ * 支持国际化消息码，是否采集堆栈由 {@link StackTracePolicy} 决定
  *
  * @author HSE
  */
@@ -66,19 +66,14 @@ public class BaseException extends RuntimeException {
      * 构造方法（国际化消息码）
      */
     public BaseException(MessageCode messageCode) {
-        super(messageCode.getKey());
-        this.messageCode = messageCode;
-        this.code = messageCode.getCode();
+        this(messageCode, null, null, true);
     }
 
     /**
      * 构造方法（国际化消息码 + 参数）
      */
     public BaseException(MessageCode messageCode, Object[] args) {
-        super(messageCode.getKey());
-        this.messageCode = messageCode;
-        this.code = messageCode.getCode();
-        this.args = args;
+        this(messageCode, args, null, true);
     }
 
     /**
@@ -96,8 +91,18 @@ public class BaseException extends RuntimeException {
      * 构造方法（国际化消息码 + 异常）
      */
     public BaseException(MessageCode messageCode, Throwable cause) {
-        super(messageCode.getKey(), cause);
+        this(messageCode, null, cause, true);
+    }
+
+    /**
+     * 构造方法（国际化消息码 + 参数 + 异常）
+     *
+     * @param enableSuppression 是否允许附加被抑制的异常，共享实例应关闭
+     */
+    protected BaseException(MessageCode messageCode, Object[] args, Throwable cause, boolean enableSuppression) {
+        super(messageCode.getKey(), cause, enableSuppression, StackTracePolicy.isWritable(messageCode));
         this.messageCode = messageCode;
         this.code = messageCode.getCode();
+        this.args = args;
     }
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.hse.common.core.exception;
 
 import com.hse.common.core.constant.MessageCode;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * 业务异常
  * 支持国际化消息码
@@ -12,6 +15,11 @@ public class ServiceException extends BaseException {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * 无参数消息码的共享实例（仅无堆栈模式）
+     */
+    private static final Map<MessageCode, ServiceException> SHARED = new ConcurrentHashMap<>();
+
     public ServiceException() {
         super();
     }
@@ -63,4 +71,55 @@ public class ServiceException extends BaseException {
     public ServiceException(MessageCode messageCode, Throwable cause) {
         super(messageCode, cause);
     }
+
+    private ServiceException(MessageCode messageCode, boolean enableSuppression) {
+        super(messageCode, null, null, enableSuppression);
+    }
+
+    /**
+     * 获取无参数业务异常：无堆栈模式下返回该消息码的共享实例，避免每次创建；保留堆栈的消息码每次新建
+     * 共享实例不可修改，调用setter抛出 UnsupportedOperationException
+     */
+    public static ServiceException of(MessageCode messageCode) {
+        if (StackTracePolicy.isWritable(messageCode)) {
+            return new ServiceException(messageCode);
+        }
+        return SHARED.computeIfAbsent(messageCode, SharedServiceException::new);
+    }
+
+    /**
+     * 共享实例：无堆栈、不允许附加被抑制异常，字段不可修改
+     */
+    private static final class SharedServiceException extends ServiceException {
+
+        private static final long serialVersionUID = 1L;
+
+        private SharedServiceException(MessageCode messageCode) {
+            super(messageCode, false);
+        }
+
+        @Override
+        public void setCode(String code) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public void setMessage(String message) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public void setMessageCode(MessageCode messageCode) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public void setArgs(Object[] args) {
+            throw unmodifiable();
+        }
+
+        private UnsupportedOperationException unmodifiable() {
+            return new UnsupportedOperationException("共享的业务异常不可修改: " + getMessageCode());
+        }
+    }
 }
\ No newline at end of file
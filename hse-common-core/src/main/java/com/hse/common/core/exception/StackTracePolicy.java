@@ -0,0 +1,41 @@
+package com.hse.common.core.exception;
+
+import com.hse.common.core.constant.MessageCode;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 业务异常堆栈策略
+ * 开启无堆栈模式后，基于 {@link MessageCode} 创建的 BaseException/ServiceException 不再采集堆栈（fillInStackTrace），
+ * 指定的消息码仍保留堆栈；自定义消息的旧版构造方法不受影响
+ *
+ * 与 MessageUtils 相同，由Spring在启动时创建实例写入全局配置，未配置时保留堆栈
+ *
+ * @author HSE
+ */
+public class StackTracePolicy {
+
+    private static volatile boolean stackless;
+
+    private static volatile Set<MessageCode> keepStackCodes = Collections.emptySet();
+
+    /**
+     * @param stackless      是否开启无堆栈模式
+     * @param keepStackCodes 仍保留堆栈的消息码
+     */
+    public StackTracePolicy(boolean stackless, Collection<MessageCode> keepStackCodes) {
+        StackTracePolicy.keepStackCodes = keepStackCodes == null || keepStackCodes.isEmpty()
+                ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(keepStackCodes));
+        StackTracePolicy.stackless = stackless;
+    }
+
+    /**
+     * 指定消息码的异常是否采集堆栈
+     */
+    public static boolean isWritable(MessageCode messageCode) {
+        return !stackless || messageCode == null || keepStackCodes.contains(messageCode);
+    }
+}
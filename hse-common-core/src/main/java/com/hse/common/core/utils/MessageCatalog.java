@@ -0,0 +1,121 @@
+package com.hse.common.core.utils;
+
+import com.hse.common.core.constant.MessageCode;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 预编译消息目录
+ * 启动时按语言解析全部 {@link MessageCode} 的消息：无参数消息直接保存字符串，带参数消息预编译 MessageFormat，
+ * 获取消息只需一次Map查找
+ *
+ * 与 MessageSource 的一致性：
+ * - 只缓存能解析到的消息，解析结果与 MessageSource 完全相同（含语言回退）
+ * - 未找到的消息、MessageCode以外的key、参数中含 MessageSourceResolvable 或格式非法时返回null，
+ *   由调用方回退到 MessageSource，默认消息（useCodeAsDefaultMessage等）语义不变
+ * - 配置以外的语言首次使用时构建，最多 {@link #MAX_LOCALES} 种，超出后直接回退
+ *
+ * @author HSE
+ */
+public final class MessageCatalog {
+
+    private static final int MAX_LOCALES = 32;
+
+    /**
+     * 判断消息是否存在的哨兵默认值
+     */
+    private static final String ABSENT = "\u0000hse.absent\u0000";
+
+    private final MessageSource messageSource;
+
+    private final ConcurrentMap<Locale, Map<String, Entry>> catalogs = new ConcurrentHashMap<>();
+
+    public MessageCatalog(MessageSource messageSource, Collection<Locale> locales) {
+        this.messageSource = messageSource;
+        for (Locale locale : locales) {
+            catalogs.put(locale, build(locale));
+        }
+    }
+
+    /**
+     * 获取已编目的消息，未编目时返回null
+     *
+     * @param key    消息键
+     * @param args   参数
+     * @param locale 语言
+     */
+    public String getMessage(String key, Object[] args, Locale locale) {
+        Map<String, Entry> catalog = catalogs.get(locale);
+        if (catalog == null) {
+            if (catalogs.size() >= MAX_LOCALES) {
+                return null;
+            }
+            catalog = catalogs.computeIfAbsent(locale, this::build);
+        }
+        Entry entry = catalog.get(key);
+        return entry == null ? null : entry.render(args);
+    }
+
+    private Map<String, Entry> build(Locale locale) {
+        Map<String, Entry> catalog = new HashMap<>();
+        for (MessageCode messageCode : MessageCode.values()) {
+            String message = messageSource.getMessage(messageCode.getKey(), null, ABSENT, locale);
+            if (message == null || ABSENT.equals(message)) {
+                continue;
+            }
+            MessageFormat format;
+            try {
+                format = new MessageFormat(message, locale);
+            } catch (IllegalArgumentException e) {
+                format = null;
+            }
+            catalog.put(messageCode.getKey(), new Entry(message, format));
+        }
+        return Collections.unmodifiableMap(catalog);
+    }
+
+    /**
+     * 单条消息
+     */
+    private static final class Entry {
+
+        /**
+         * 原始消息（无参数时的结果）
+         */
+        private final String message;
+
+        /**
+         * 预编译格式，格式非法时为null；MessageFormat非线程安全，使用时复制
+         */
+        private final MessageFormat format;
+
+        private Entry(String message, MessageFormat format) {
+            this.message = message;
+            this.format = format;
+        }
+
+        String render(Object[] args) {
+            if (args == null || args.length == 0) {
+                return message;
+            }
+            if (format == null) {
+                return null;
+            }
+            for (Object arg : args) {
+                if (arg instanceof MessageSourceResolvable) {
+                    return null;
+                }
+            }
+            return ((MessageFormat) format.clone()).format(args);
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.hse.common.core.utils;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 
+import java.util.Collection;
 import java.util.Locale;
 
 /**
  * 国际化消息工具类
+ * 指定语言列表时优先从预编译的 {@link MessageCatalog} 获取，未编目的消息回退到 MessageSource
  *
  * @author HSE
  */
@@ -14,8 +16,19 @@ public class MessageUtils {
 
     private static MessageSource messageSource;
 
+    private static MessageCatalog messageCatalog;
+
     public MessageUtils(MessageSource messageSource) {
         MessageUtils.messageSource = messageSource;
+        MessageUtils.messageCatalog = null;
+    }
+
+    /**
+     * @param locales 启动时预编译消息目录的语言
+     */
+    public MessageUtils(MessageSource messageSource, Collection<Locale> locales) {
+        MessageUtils.messageSource = messageSource;
+        MessageUtils.messageCatalog = new MessageCatalog(messageSource, locales);
     }
 
     /**
@@ -53,6 +66,10 @@ public class MessageUtils {
         }
         try {
             Locale locale = LocaleContextHolder.getLocale();
+            String message = messageCatalog == null ? null : messageCatalog.getMessage(code, args, locale);
+            if (message != null) {
+                return message;
+            }
             return messageSource.getMessage(code, args, defaultMessage, locale);
         } catch (Exception e) {
             return defaultMessage;
@@ -72,6 +89,10 @@ public class MessageUtils {
             return "";
         }
         try {
+            String message = messageCatalog == null ? null : messageCatalog.getMessage(code, args, locale);
+            if (message != null) {
+                return message;
+            }
             return messageSource.getMessage(code, args, locale);
         } catch (Exception e) {
             return code;
@@ -0,0 +1,55 @@
+package com.hse.common.core.utils;
+
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SpEL表达式工具类
+ * 用于注解中基于方法参数的key计算，如 #id、#user.id、#p0
+ *
+ * @author HSE
+ */
+public class SpelUtils {
+
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+
+    private static final ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    /**
+     * 已解析表达式缓存
+     */
+    private static final Map<String, Expression> EXPRESSION_CACHE = new ConcurrentHashMap<>();
+
+    private SpelUtils() {
+    }
+
+    /**
+     * 基于方法参数计算表达式
+     *
+     * @param expression 表达式
+     * @param method     方法
+     * @param args       参数
+     * @param target     目标对象（作为根对象）
+     * @param type       结果类型
+     * @return 计算结果
+     */
+    public static <T> T evaluate(String expression, Method method, Object[] args, Object target, Class<T> type) {
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(target, method, args, NAME_DISCOVERER);
+        return EXPRESSION_CACHE.computeIfAbsent(expression, PARSER::parseExpression).getValue(context, type);
+    }
+
+    /**
+     * 基于方法参数计算表达式，返回字符串
+     */
+    public static String evaluate(String expression, Method method, Object[] args, Object target) {
+        return evaluate(expression, method, args, target, String.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hse.common.redis.annotation;
+
+import com.hse.common.redis.lock.LockType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式锁注解
+ * 获取失败时抛出 ServiceException(MessageCode.LOCK_ACQUIRE_FAIL)
+ *
+ * 示例：
+ * <pre>
+ * &#64;DistributedLock(name = "order", keys = "#orderId", waitTime = 3)
+ * public void pay(Long orderId) { ... }
+ * </pre>
+ *
+ * @author HSE
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DistributedLock {
+
+    /**
+     * 锁名称，作为key前缀及指标维度
+     */
+    String name();
+
+    /**
+     * 锁key，SpEL表达式，多个时同时锁定全部key；为空时只按名称加锁
+     */
+    String[] keys() default {};
+
+    /**
+     * 锁类型
+     */
+    LockType type() default LockType.REENTRANT;
+
+    /**
+     * 最大等待时间
+     */
+    long waitTime() default 3;
+
+    /**
+     * 租期，小于等于0时启用看门狗自动续期
+     */
+    long leaseTime() default -1;
+
+    /**
+     * 时间单位
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+}
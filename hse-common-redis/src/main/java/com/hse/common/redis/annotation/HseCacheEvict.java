@@ -0,0 +1,39 @@
+package com.hse.common.redis.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 缓存清除注解
+ *
+ * 示例：
+ * <pre>
+ * &#64;HseCacheEvict(cacheName = "user", key = "#user.id")
+ * public void update(User user) { ... }
+ * </pre>
+ *
+ * @author HSE
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface HseCacheEvict {
+
+    /**
+     * 缓存名称，作为key前缀：cacheName:key
+     */
+    String cacheName();
+
+    /**
+     * 缓存key，SpEL表达式，为空时使用全部参数拼接（参数须均为简单类型，否则启动失败）
+     */
+    String key() default "";
+
+    /**
+     * 是否在方法执行前清除，默认方法成功执行后清除
+     */
+    boolean beforeInvocation() default false;
+}
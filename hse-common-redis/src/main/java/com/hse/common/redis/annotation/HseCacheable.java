@@ -0,0 +1,73 @@
+package com.hse.common.redis.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存注解（Cache-Aside）
+ * 先读Redis，未命中时执行方法并写回，同一节点同一key只会有一个线程回源
+ *
+ * 示例：
+ * <pre>
+ * &#64;HseCacheable(cacheName = "user", key = "#id", expire = 30, timeUnit = TimeUnit.MINUTES)
+ * public User getById(Long id) { ... }
+ * </pre>
+ *
+ * @author HSE
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface HseCacheable {
+
+    /**
+     * 缓存名称，作为key前缀：cacheName:key
+     */
+    String cacheName();
+
+    /**
+     * 缓存key，SpEL表达式（如 #id、#user.id），为空时使用全部参数拼接（参数须均为简单类型，否则启动失败）
+     */
+    String key() default "";
+
+    /**
+     * 过期时间
+     */
+    long expire() default 30;
+
+    /**
+     * 过期时间单位
+     */
+    TimeUnit timeUnit() default TimeUnit.MINUTES;
+
+    /**
+     * 是否缓存null值（防止缓存穿透）
+     */
+    boolean cacheNull() default true;
+
+    /**
+     * null值过期时间（秒）
+     */
+    long nullExpireSeconds() default 60;
+
+    /**
+     * 剩余过期时间低于该值时异步提前刷新，单位同timeUnit，0表示不提前刷新
+     * 刷新在后台线程中重新调用方法，只传递已注册的上下文（语言、登录用户、MDC），不在调用方的事务中执行
+     */
+    long refreshBeforeExpire() default 0;
+
+    /**
+     * 是否启用跨节点回源互斥（基于Redisson分布式锁）
+     */
+    boolean distributedGuard() default false;
+
+    /**
+     * 布隆过滤器名称，非空时先用缓存key的SpEL结果判断是否可能存在，一定不存在时直接返回null，不访问Redis和数据库
+     * 需开启 hse.redis.bloom-filter.enabled 并注册同名过滤器，未注册时不拦截；返回基本类型的方法不能指定
+     */
+    String bloomFilter() default "";
+}
@@ -0,0 +1,64 @@
+package com.hse.common.redis.aspect;
+
+import com.hse.common.core.constant.MessageCode;
+import com.hse.common.core.exception.ServiceException;
+import com.hse.common.core.utils.SpelUtils;
+import com.hse.common.redis.annotation.DistributedLock;
+import com.hse.common.redis.lock.LockHandle;
+import com.hse.common.redis.lock.LockTemplate;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 分布式锁注解切面
+ *
+ * @author HSE
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class DistributedLockAspect {
+
+    private static final String DEFAULT_KEY = "global";
+
+    private final LockTemplate lockTemplate;
+
+    @Around("@annotation(distributedLock)")
+    public Object around(ProceedingJoinPoint joinPoint, DistributedLock distributedLock) throws Throwable {
+        List<String> keys = resolveKeys(joinPoint, distributedLock.keys());
+        LockHandle handle = lockTemplate.tryLock(distributedLock.name(), keys, distributedLock.type(),
+                distributedLock.waitTime(), distributedLock.leaseTime(), distributedLock.timeUnit());
+        if (handle == null) {
+            throw ServiceException.of(MessageCode.LOCK_ACQUIRE_FAIL);
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            handle.close();
+        }
+    }
+
+    private List<String> resolveKeys(ProceedingJoinPoint joinPoint, String[] expressions) {
+        if (expressions.length == 0) {
+            return Collections.singletonList(DEFAULT_KEY);
+        }
+        Object target = joinPoint.getTarget();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        method = AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(target));
+        List<String> keys = new ArrayList<>(expressions.length);
+        for (String expression : expressions) {
+            keys.add(SpelUtils.evaluate(expression, method, joinPoint.getArgs(), target));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,310 @@
+package com.hse.common.redis.aspect;
+
+import com.hse.common.core.context.ContextPropagatingTaskDecorator;
+import com.hse.common.core.context.ContextPropagator;
+import com.hse.common.core.utils.SpelUtils;
+import com.hse.common.redis.annotation.HseCacheEvict;
+import com.hse.common.redis.annotation.HseCacheable;
+import com.hse.common.redis.bloom.BloomFilterManager;
+import com.hse.common.redis.utils.RedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 缓存注解切面
+ * - 单节点回源合并（single-flight）：同一key并发未命中时只有一个线程执行方法，其余线程等待结果
+ * - 跨节点回源互斥：distributedGuard=true 时通过Redisson锁保证同一时刻只有一个节点回源
+ * - 提前刷新：剩余过期时间低于阈值时异步刷新，读请求不阻塞；刷新线程通过 {@link ContextPropagatingTaskDecorator}
+ *   传递触发请求的上下文（语言、登录用户、MDC等已注册的 {@link ContextPropagator}），不传递事务
+ * - 布隆过滤器：指定 bloomFilter 时，一定不存在的key直接返回null
+ * 注解配置由 {@link HseCacheValidator} 在启动时校验
+ *
+ * @author HSE
+ */
+@Slf4j
+@Aspect
+@Component
+public class HseCacheAspect implements DisposableBean {
+
+    /**
+     * null值占位符
+     */
+    public static final String NULL_VALUE = "@@HSE_NULL@@";
+
+    private static final String LOCK_PREFIX = "lock:cache:";
+
+    private final RedisUtil redisUtil;
+
+    private final ObjectProvider<RedissonClient> redissonClientProvider;
+
+    private final ObjectProvider<BloomFilterManager> bloomFilterManagerProvider;
+
+    /**
+     * 跨节点回源锁等待时间（毫秒），超时后直接回源
+     */
+    private final long lockWaitMillis;
+
+    /**
+     * 等待同一节点其他线程回源的时间（毫秒），超时后自行回源
+     */
+    private final long loadWaitMillis;
+
+    /**
+     * 正在回源的key
+     */
+    private final ConcurrentMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 正在提前刷新的key
+     */
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor refreshExecutor;
+
+    /**
+     * 提前刷新任务的上下文传递装饰器
+     */
+    private final ContextPropagatingTaskDecorator taskDecorator;
+
+    public HseCacheAspect(RedisUtil redisUtil,
+                          ObjectProvider<RedissonClient> redissonClientProvider,
+                          ObjectProvider<BloomFilterManager> bloomFilterManagerProvider,
+                          ObjectProvider<ContextPropagatingTaskDecorator> taskDecoratorProvider,
+                          ObjectProvider<ContextPropagator> contextPropagators,
+                          @Value("${hse.redis.cache.lock-wait-millis:3000}") long lockWaitMillis,
+                          @Value("${hse.redis.cache.load-wait-millis:3000}") long loadWaitMillis,
+                          @Value("${hse.redis.cache.refresh-threads:2}") int refreshThreads,
+                          @Value("${hse.redis.cache.refresh-queue-size:1000}") int refreshQueueSize) {
+        this.redisUtil = redisUtil;
+        this.redissonClientProvider = redissonClientProvider;
+        this.bloomFilterManagerProvider = bloomFilterManagerProvider;
+        this.lockWaitMillis = lockWaitMillis;
+        this.loadWaitMillis = loadWaitMillis;
+        // 开启异步执行时复用其装饰器，否则使用已注册的上下文传递器（如登录用户）
+        this.taskDecorator = taskDecoratorProvider.getIfAvailable(() -> new ContextPropagatingTaskDecorator(
+                contextPropagators.orderedStream().collect(Collectors.toList())));
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(refreshQueueSize), r -> {
+            Thread thread = new Thread(r, "hse-cache-refresh-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Around("@annotation(cacheable)")
+    public Object cacheable(ProceedingJoinPoint joinPoint, HseCacheable cacheable) throws Throwable {
+        String suffix = buildKeySuffix(joinPoint, cacheable.key());
+        if (StringUtils.hasText(cacheable.bloomFilter())) {
+            BloomFilterManager bloomFilterManager = bloomFilterManagerProvider.getIfAvailable();
+            if (bloomFilterManager != null && !bloomFilterManager.mightContain(cacheable.bloomFilter(), suffix)) {
+                return null;
+            }
+        }
+        String key = cacheable.cacheName() + ":" + suffix;
+        Object cached = read(key, cacheable, joinPoint);
+        if (cached != null) {
+            return unwrap(cached);
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing, key, cacheable, joinPoint);
+        }
+        try {
+            // 读取缓存与登记回源之间，上一个回源线程可能已写入缓存并移除登记，二次检查避免重复回源
+            cached = read(key, cacheable, joinPoint);
+            Object result = cached != null ? unwrap(cached) : load(key, cacheable, joinPoint);
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    @Around("@annotation(cacheEvict)")
+    public Object cacheEvict(ProceedingJoinPoint joinPoint, HseCacheEvict cacheEvict) throws Throwable {
+        String key = buildKey(joinPoint, cacheEvict.cacheName(), cacheEvict.key());
+        if (cacheEvict.beforeInvocation()) {
+            redisUtil.delete(key);
+        }
+        Object result = joinPoint.proceed();
+        if (!cacheEvict.beforeInvocation()) {
+            redisUtil.delete(key);
+        }
+        return result;
+    }
+
+    /**
+     * 读取缓存，开启提前刷新时在同一管道中读取剩余过期时间
+     */
+    private Object read(String key, HseCacheable cacheable, ProceedingJoinPoint joinPoint) {
+        if (cacheable.refreshBeforeExpire() <= 0) {
+            return redisUtil.get(key);
+        }
+        List<Object> results = redisUtil.pipeline(operations -> {
+            operations.opsForValue().get(key);
+            operations.getExpire(key, TimeUnit.MILLISECONDS);
+        });
+        Object value = results.get(0);
+        Object ttl = results.get(1);
+        if (value != null && ttl instanceof Long && (Long) ttl >= 0
+                && (Long) ttl < cacheable.timeUnit().toMillis(cacheable.refreshBeforeExpire())) {
+            scheduleRefresh(key, cacheable, joinPoint);
+        }
+        return value;
+    }
+
+    /**
+     * 回源，开启跨节点互斥时先获取分布式锁并二次检查缓存
+     */
+    private Object load(String key, HseCacheable cacheable, ProceedingJoinPoint joinPoint) throws Throwable {
+        RedissonClient redissonClient = cacheable.distributedGuard() ? redissonClientProvider.getIfAvailable() : null;
+        if (redissonClient == null) {
+            return proceedAndCache(key, cacheable, joinPoint);
+        }
+        RLock lock = redissonClient.getLock(LOCK_PREFIX + key);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(lockWaitMillis, TimeUnit.MILLISECONDS);
+            if (locked) {
+                Object cached = redisUtil.get(key);
+                if (cached != null) {
+                    return unwrap(cached);
+                }
+            } else {
+                log.warn("缓存回源等待分布式锁超时，直接回源: {}", key);
+            }
+            return proceedAndCache(key, cacheable, joinPoint);
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Object proceedAndCache(String key, HseCacheable cacheable, ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        write(key, result, cacheable);
+        return result;
+    }
+
+    private void write(String key, Object value, HseCacheable cacheable) {
+        if (value != null) {
+            redisUtil.set(key, value, cacheable.expire(), cacheable.timeUnit());
+        } else if (cacheable.cacheNull()) {
+            redisUtil.set(key, NULL_VALUE, cacheable.nullExpireSeconds(), TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 异步提前刷新，同一key同时只有一个刷新任务；开启跨节点互斥时只有抢到锁的节点刷新
+     */
+    private void scheduleRefresh(String key, HseCacheable cacheable, ProceedingJoinPoint joinPoint) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(taskDecorator.decorate(() -> {
+                try {
+                    refresh(key, cacheable, joinPoint);
+                } catch (Throwable e) {
+                    log.warn("缓存提前刷新失败: {}", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private void refresh(String key, HseCacheable cacheable, ProceedingJoinPoint joinPoint) throws Throwable {
+        RedissonClient redissonClient = cacheable.distributedGuard() ? redissonClientProvider.getIfAvailable() : null;
+        if (redissonClient == null) {
+            proceedAndCache(key, cacheable, joinPoint);
+            return;
+        }
+        RLock lock = redissonClient.getLock(LOCK_PREFIX + key);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            proceedAndCache(key, cacheable, joinPoint);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String buildKey(ProceedingJoinPoint joinPoint, String cacheName, String keyExpression) {
+        return cacheName + ":" + buildKeySuffix(joinPoint, keyExpression);
+    }
+
+    private String buildKeySuffix(ProceedingJoinPoint joinPoint, String keyExpression) {
+        Object[] args = joinPoint.getArgs();
+        String suffix;
+        if (StringUtils.hasText(keyExpression)) {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            Object target = joinPoint.getTarget();
+            method = AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(target));
+            suffix = SpelUtils.evaluate(keyExpression, method, args, target);
+        } else {
+            suffix = StringUtils.arrayToDelimitedString(args, ",");
+        }
+        return suffix;
+    }
+
+    private static Object unwrap(Object cached) {
+        return NULL_VALUE.equals(cached) ? null : cached;
+    }
+
+    /**
+     * 等待其他线程的回源结果，超时后自行回源
+     */
+    private Object await(CompletableFuture<Object> future, String key, HseCacheable cacheable,
+                         ProceedingJoinPoint joinPoint) throws Throwable {
+        try {
+            return future.get(loadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            log.warn("等待缓存回源超时，直接回源: {}", key);
+            return load(key, cacheable, joinPoint);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdown();
+    }
+}
@@ -0,0 +1,61 @@
+package com.hse.common.redis.aspect;
+
+import com.hse.common.redis.annotation.HseCacheEvict;
+import com.hse.common.redis.annotation.HseCacheable;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * 缓存注解启动校验，配置错误时启动失败而不是在运行时出错
+ * - 未指定key时，参数必须都是简单类型（基本类型及包装类、字符串、枚举、日期等），否则key中是对象的默认toString，每次调用都不同
+ * - 指定bloomFilter时，返回值不能是基本类型（布隆过滤器拦截时返回null）
+ *
+ * @author HSE
+ */
+@Component
+public class HseCacheValidator implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        Class<?> beanType = ClassUtils.getUserClass(bean);
+        ReflectionUtils.doWithMethods(beanType, method -> {
+            HseCacheable cacheable = AnnotationUtils.findAnnotation(method, HseCacheable.class);
+            if (cacheable != null) {
+                validateKey(beanType, method, cacheable.key());
+                if (StringUtils.hasText(cacheable.bloomFilter()) && method.getReturnType().isPrimitive()) {
+                    throw new BeanInitializationException(describe(beanType, method)
+                            + " 返回基本类型，不能指定bloomFilter（拦截时返回null）");
+                }
+            }
+            HseCacheEvict cacheEvict = AnnotationUtils.findAnnotation(method, HseCacheEvict.class);
+            if (cacheEvict != null) {
+                validateKey(beanType, method, cacheEvict.key());
+            }
+        }, ReflectionUtils.USER_DECLARED_METHODS);
+        return bean;
+    }
+
+    private static void validateKey(Class<?> beanType, Method method, String key) {
+        if (StringUtils.hasText(key)) {
+            return;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!BeanUtils.isSimpleValueType(parameterType)) {
+                throw new BeanInitializationException(describe(beanType, method)
+                        + " 的参数类型 " + parameterType.getName() + " 不能作为默认缓存key，请通过key指定SpEL表达式");
+            }
+        }
+    }
+
+    private static String describe(Class<?> beanType, Method method) {
+        return beanType.getName() + "." + method.getName();
+    }
+}
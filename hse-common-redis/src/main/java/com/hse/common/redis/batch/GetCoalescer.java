@@ -0,0 +1,264 @@
+package com.hse.common.redis.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GET请求合并器
+ * 在时间窗口内到达的并发单key读取合并为一次MGET，批次满时立即发送
+ * 需要剩余过期时间的读取（近端缓存回填）在同一管道中附带PTTL
+ *
+ * 调度线程只负责计时，到期批次交给有界的发送线程池执行，多个批次可同时在途；线程池满时由调度线程发送
+ *
+ * @author HSE
+ */
+@Slf4j
+public class GetCoalescer implements DisposableBean {
+
+    private static final int DISPATCH_QUEUE_SIZE = 1024;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final long windowMicros;
+
+    private final int maxBatchSize;
+
+    private final long timeoutMillis;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ThreadPoolExecutor dispatcher;
+
+    private final Object lock = new Object();
+
+    /**
+     * 当前正在收集的批次
+     */
+    private Batch current;
+
+    /**
+     * @param dispatchThreads 发送批次的线程数
+     */
+    public GetCoalescer(RedisTemplate<String, Object> redisTemplate, long windowMicros,
+                        int maxBatchSize, long timeoutMillis, int dispatchThreads) {
+        this.redisTemplate = redisTemplate;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hse-redis-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(DISPATCH_QUEUE_SIZE), r -> {
+            Thread thread = new Thread(r, "hse-redis-coalescer-dispatch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (r, executor) -> r.run());
+    }
+
+    /**
+     * 合并读取，阻塞至批次返回
+     */
+    public Object get(String key) {
+        return await(submit(key), key);
+    }
+
+    /**
+     * 合并读取值及剩余过期时间（PTTL，毫秒），阻塞至批次返回
+     */
+    public ValueWithPttl getWithPttl(String key) {
+        return await(submitWithPttl(key), key);
+    }
+
+    private <T> T await(CompletableFuture<T> future, String key) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RedisSystemException("合并读取被中断: " + key, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RedisSystemException("合并读取失败: " + key, cause);
+        } catch (TimeoutException e) {
+            throw new RedisSystemException("合并读取超时: " + key, e);
+        }
+    }
+
+    /**
+     * 提交读取请求
+     */
+    public CompletableFuture<Object> submit(String key) {
+        return submit(key, false).thenApply(ValueWithPttl::getValue);
+    }
+
+    /**
+     * 提交读取请求，同时读取剩余过期时间
+     */
+    public CompletableFuture<ValueWithPttl> submitWithPttl(String key) {
+        return submit(key, true);
+    }
+
+    private CompletableFuture<ValueWithPttl> submit(String key, boolean withPttl) {
+        CompletableFuture<ValueWithPttl> future;
+        Batch full = null;
+        synchronized (lock) {
+            if (current == null) {
+                Batch batch = new Batch();
+                current = batch;
+                scheduler.schedule(() -> flush(batch), windowMicros, TimeUnit.MICROSECONDS);
+            }
+            future = current.add(key, withPttl);
+            if (current.size() >= maxBatchSize) {
+                full = current;
+                current = null;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    private void flush(Batch batch) {
+        synchronized (lock) {
+            if (current == batch) {
+                current = null;
+            }
+        }
+        if (!batch.dispatched.get()) {
+            dispatcher.execute(() -> dispatch(batch));
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        if (!batch.dispatched.compareAndSet(false, true)) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(batch.futures.keySet());
+        List<String> pttlKeys = new ArrayList<>(batch.pttlKeys);
+        try {
+            List<?> values;
+            Map<String, Long> pttls = new HashMap<>();
+            if (pttlKeys.isEmpty()) {
+                values = redisTemplate.opsForValue().multiGet(keys);
+            } else {
+                List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                        RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                        ops.opsForValue().multiGet(keys);
+                        pttlKeys.forEach(key -> ops.getExpire(key, TimeUnit.MILLISECONDS));
+                        return null;
+                    }
+                });
+                values = (List<?>) results.get(0);
+                for (int i = 0; i < pttlKeys.size(); i++) {
+                    pttls.put(pttlKeys.get(i), (Long) results.get(i + 1));
+                }
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                Object value = values == null ? null : values.get(i);
+                batch.futures.get(keys.get(i)).complete(new ValueWithPttl(value, pttls.get(keys.get(i))));
+            }
+        } catch (Exception e) {
+            log.warn("合并读取失败，批次大小: {}", keys.size(), e);
+            batch.futures.values().forEach(f -> f.completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        dispatcher.shutdown();
+        Batch remaining;
+        synchronized (lock) {
+            remaining = current;
+            current = null;
+        }
+        if (remaining != null) {
+            dispatch(remaining);
+        }
+    }
+
+    /**
+     * 读取结果
+     */
+    public static final class ValueWithPttl {
+
+        private final Object value;
+
+        private final Long pttl;
+
+        private ValueWithPttl(Object value, Long pttl) {
+            this.value = value;
+            this.pttl = pttl;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * 剩余过期时间（毫秒），-1表示未设置过期，-2表示不存在；未请求时为null
+         */
+        public Long getPttl() {
+            return pttl;
+        }
+    }
+
+    /**
+     * 待发送批次，同一key只读取一次
+     */
+    private static final class Batch {
+
+        private final Map<String, CompletableFuture<ValueWithPttl>> futures = new LinkedHashMap<>();
+
+        /**
+         * 需要附带PTTL的key
+         */
+        private final Set<String> pttlKeys = new LinkedHashSet<>();
+
+        private final AtomicBoolean dispatched = new AtomicBoolean();
+
+        private CompletableFuture<ValueWithPttl> add(String key, boolean withPttl) {
+            if (withPttl) {
+                pttlKeys.add(key);
+            }
+            return futures.computeIfAbsent(key, k -> new CompletableFuture<>());
+        }
+
+        private int size() {
+            return futures.size();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hse.common.redis.bloom;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * 布隆过滤器监控端点：GET /actuator/bloomfilters
+ * 返回当前节点各过滤器的位数、内存占用及估算误判率
+ *
+ * @author HSE
+ */
+@Endpoint(id = "bloomfilters")
+@RequiredArgsConstructor
+public class BloomFilterEndpoint {
+
+    private final BloomFilterManager bloomFilterManager;
+
+    @ReadOperation
+    public List<BloomFilterStats> bloomFilters() {
+        return bloomFilterManager.getStats();
+    }
+}
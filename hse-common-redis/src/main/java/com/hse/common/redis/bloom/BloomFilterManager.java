@@ -0,0 +1,275 @@
+package com.hse.common.redis.bloom;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * 布隆过滤器管理器（防缓存穿透）
+ * 判断ID是否可能存在只读本地镜像，不存在的ID在访问Redis和数据库之前直接返回
+ *
+ * 同步机制：
+ * - 写入时更新本地镜像和Redis位图，并广播到其他节点更新镜像
+ * - 全量重建或批量写入后广播重新加载
+ * - 定时从Redis重新加载，修复丢失的广播
+ *
+ * 示例：
+ * <pre>
+ * // 启动时注册，Redis中已有位图时直接加载
+ * bloomFilterManager.register("user", 10_000_000L, 0.001);
+ * // 首次或定期全量构建（按主键分页扫描）
+ * bloomFilterManager.populate("user", (lastId, size) -&gt; userMapper.selectObjs(Wrappers.&lt;User&gt;query()
+ *         .select("id").gt("id", lastId).orderByAsc("id").last("limit " + size)), 1000);
+ * // 新增数据后
+ * bloomFilterManager.put("user", user.getId());
+ * </pre>
+ *
+ * @author HSE
+ */
+@Slf4j
+public class BloomFilterManager implements DisposableBean {
+
+    /**
+     * 同步广播频道
+     */
+    public static final String SYNC_CHANNEL = "hse:bloom:sync";
+
+    private static final byte[] SYNC_CHANNEL_BYTES = SYNC_CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    private static final char PAYLOAD_SEPARATOR = '|';
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final ConcurrentMap<String, RedisBloomFilter> filters = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param resyncIntervalSeconds 定时从Redis重新加载的间隔（秒），小于等于0表示不定时加载
+     */
+    public BloomFilterManager(RedisTemplate<String, Object> redisTemplate, long resyncIntervalSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hse-bloom-resync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (resyncIntervalSeconds > 0) {
+            this.scheduler.scheduleWithFixedDelay(this::reloadAll, resyncIntervalSeconds, resyncIntervalSeconds,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 注册过滤器并从Redis加载位图，已注册时直接返回
+     *
+     * @param name               名称，不能包含 '|'
+     * @param expectedInsertions 预计元素数量
+     * @param falseProbability   期望误判率
+     */
+    public RedisBloomFilter register(String name, long expectedInsertions, double falseProbability) {
+        if (name.indexOf(PAYLOAD_SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("布隆过滤器名称不能包含 '|': " + name);
+        }
+        return filters.computeIfAbsent(name, k -> {
+            RedisBloomFilter filter = new RedisBloomFilter(name, expectedInsertions, falseProbability, redisTemplate);
+            if (!filter.reload()) {
+                log.warn("布隆过滤器[{}]在Redis中不存在，全量构建完成前不拦截请求", name);
+            }
+            return filter;
+        });
+    }
+
+    /**
+     * 获取已注册的过滤器
+     */
+    public RedisBloomFilter getFilter(String name) {
+        return filters.get(name);
+    }
+
+    /**
+     * 元素是否可能存在；过滤器未注册或未就绪（未加载到位图且未全量构建）时返回true（不拦截）
+     */
+    public boolean mightContain(String name, Object element) {
+        RedisBloomFilter filter = filters.get(name);
+        return filter == null || filter.mightContain(element);
+    }
+
+    /**
+     * 写入元素（新增数据后调用）
+     */
+    public void put(String name, Object element) {
+        RedisBloomFilter filter = requireFilter(name);
+        filter.put(element);
+        publish(name, String.valueOf(element));
+    }
+
+    /**
+     * 批量写入元素，完成后通知其他节点重新加载
+     */
+    public void putAll(String name, Collection<?> elements) {
+        requireFilter(name).putAll(elements);
+        publish(name, "");
+    }
+
+    /**
+     * 使用给定元素全量重建，完成后通知其他节点重新加载
+     *
+     * @return 写入的元素数量
+     */
+    public long rebuild(String name, Iterable<?> elements) {
+        long start = System.currentTimeMillis();
+        long count = requireFilter(name).rebuild(elements);
+        publish(name, "");
+        log.info("布隆过滤器[{}]重建完成，元素{}个，耗时{}ms", name, count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    /**
+     * 按数值主键分页扫描全量重建（keyset分页，不使用offset）
+     *
+     * @param pageLoader 参数为上一页最后一个ID（首页为Long.MIN_VALUE）和页大小，返回按ID升序的下一页ID
+     * @param pageSize   页大小
+     * @return 写入的元素数量
+     */
+    public long populate(String name, BiFunction<Long, Integer, List<?>> pageLoader, int pageSize) {
+        return rebuild(name, () -> new KeysetIterator(pageLoader, pageSize));
+    }
+
+    /**
+     * 各过滤器统计信息
+     */
+    public List<BloomFilterStats> getStats() {
+        List<BloomFilterStats> stats = new ArrayList<>();
+        for (RedisBloomFilter filter : filters.values()) {
+            stats.add(filter.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * 处理其他节点的同步广播，格式：nodeId|name|element，element为空表示重新加载
+     */
+    public void onSync(String payload) {
+        int first = payload.indexOf(PAYLOAD_SEPARATOR);
+        int second = first < 0 ? -1 : payload.indexOf(PAYLOAD_SEPARATOR, first + 1);
+        if (second < 0 || nodeId.equals(payload.substring(0, first))) {
+            return;
+        }
+        RedisBloomFilter filter = filters.get(payload.substring(first + 1, second));
+        if (filter == null) {
+            return;
+        }
+        String element = payload.substring(second + 1);
+        if (element.isEmpty()) {
+            // 在调度线程中加载，避免阻塞监听线程
+            scheduler.execute(() -> reload(filter));
+        } else {
+            filter.putLocal(element);
+        }
+    }
+
+    private RedisBloomFilter requireFilter(String name) {
+        RedisBloomFilter filter = filters.get(name);
+        if (filter == null) {
+            throw new IllegalStateException("布隆过滤器未注册: " + name);
+        }
+        return filter;
+    }
+
+    private void publish(String name, String element) {
+        byte[] payload = (nodeId + PAYLOAD_SEPARATOR + name + PAYLOAD_SEPARATOR + element).getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(SYNC_CHANNEL_BYTES, payload));
+        } catch (Exception e) {
+            log.warn("布隆过滤器同步广播失败，其他节点将在定时加载时同步: {}", name, e);
+        }
+    }
+
+    private void reloadAll() {
+        filters.values().forEach(this::reload);
+    }
+
+    private void reload(RedisBloomFilter filter) {
+        try {
+            filter.reload();
+        } catch (Exception e) {
+            log.warn("布隆过滤器[{}]加载失败", filter.getName(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 按数值主键逐页读取
+     */
+    private static final class KeysetIterator implements Iterator<Object> {
+
+        private final BiFunction<Long, Integer, List<?>> pageLoader;
+
+        private final int pageSize;
+
+        private Iterator<?> page = Collections.emptyIterator();
+
+        private long lastId = Long.MIN_VALUE;
+
+        private boolean exhausted;
+
+        private KeysetIterator(BiFunction<Long, Integer, List<?>> pageLoader, int pageSize) {
+            this.pageLoader = pageLoader;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (page.hasNext()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            List<?> ids = pageLoader.apply(lastId, pageSize);
+            if (ids == null || ids.isEmpty()) {
+                exhausted = true;
+                return false;
+            }
+            exhausted = ids.size() < pageSize;
+            Object last = ids.get(ids.size() - 1);
+            if (!(last instanceof Number)) {
+                throw new IllegalStateException("分页扫描要求ID为数值类型: " + last);
+            }
+            lastId = ((Number) last).longValue();
+            page = ids.iterator();
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.hse.common.redis.bloom;
+
+import lombok.Data;
+
+/**
+ * 布隆过滤器统计信息
+ *
+ * @author HSE
+ */
+@Data
+public class BloomFilterStats {
+
+    /**
+     * 名称
+     */
+    private String name;
+
+    /**
+     * 是否已从Redis加载或全量构建，未就绪时不拦截
+     */
+    private boolean ready;
+
+    /**
+     * 预计元素数量
+     */
+    private long expectedInsertions;
+
+    /**
+     * 设计误判率
+     */
+    private double expectedFalseProbability;
+
+    /**
+     * 位数
+     */
+    private long bitSize;
+
+    /**
+     * 哈希次数
+     */
+    private int hashIterations;
+
+    /**
+     * 位图占用内存（字节），Redis与本地镜像各占一份
+     */
+    private long memoryBytes;
+
+    /**
+     * 已置位数
+     */
+    private long bitCount;
+
+    /**
+     * 根据置位数估算的元素数量，位图已满时为-1
+     */
+    private long approximateElements;
+
+    /**
+     * 自上次加载以来本节点写入及收到广播的元素数
+     */
+    private long insertionsSinceLoad;
+
+    /**
+     * 按当前置位比例估算的实际误判率：(置位数 / 位数) ^ 哈希次数
+     */
+    private double estimatedFalseProbability;
+}
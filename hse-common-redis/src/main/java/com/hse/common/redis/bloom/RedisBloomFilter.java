@@ -0,0 +1,327 @@
+package com.hse.common.redis.bloom;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 布隆过滤器（Redis位图 + 本地镜像）
+ * 位图以Redis字符串保存（SETBIT/GET），各节点在本地保存一份镜像，判断是否存在时只读本地镜像，不产生任何网络IO
+ *
+ * 位数与哈希次数由预计元素数量和误判率计算，并编入Redis key（bloom:{name}:{位数}:{哈希次数}），
+ * 参数变化后自动使用新key，需重新全量构建
+ *
+ * 首次从Redis加载成功或全量构建完成之前处于未就绪状态，mightContain 始终返回true（不拦截）
+ *
+ * @author HSE
+ */
+public class RedisBloomFilter {
+
+    private static final String KEY_PREFIX = "bloom:";
+
+    /**
+     * Redis字符串最大512MB
+     */
+    private static final long MAX_BITS = 1L << 32;
+
+    private final String name;
+
+    private final long expectedInsertions;
+
+    private final double falseProbability;
+
+    private final long bitSize;
+
+    private final int hashIterations;
+
+    private final byte[] rawKey;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 本地镜像，Redis第i位对应 bits[i / 64] 的第 i % 64 位
+     */
+    private volatile AtomicLongArray bits;
+
+    /**
+     * 是否已从Redis加载或全量构建
+     */
+    private volatile boolean ready;
+
+    /**
+     * 加载或重建期间本地写入的位下标，完成后重放到新镜像，为null表示未在加载或重建
+     */
+    private volatile Queue<long[]> pendingPuts;
+
+    /**
+     * 自上次加载以来写入的元素数
+     */
+    private final LongAdder insertions = new LongAdder();
+
+    public RedisBloomFilter(String name, long expectedInsertions, double falseProbability,
+                            RedisTemplate<String, Object> redisTemplate) {
+        if (expectedInsertions <= 0 || falseProbability <= 0 || falseProbability >= 1) {
+            throw new IllegalArgumentException("布隆过滤器参数错误: " + name);
+        }
+        this.name = name;
+        this.expectedInsertions = expectedInsertions;
+        this.falseProbability = falseProbability;
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falseProbability) / (Math.log(2) * Math.log(2)));
+        this.bitSize = Math.min(MAX_BITS, Math.max(64, (optimalBits + 63) / 64 * 64));
+        this.hashIterations = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.rawKey = (KEY_PREFIX + name + ":" + bitSize + ":" + hashIterations).getBytes(StandardCharsets.UTF_8);
+        this.redisTemplate = redisTemplate;
+        this.bits = new AtomicLongArray((int) (bitSize / 64));
+    }
+
+    /**
+     * 是否可能存在（只读本地镜像），返回false时一定不存在；未就绪时返回true
+     */
+    public boolean mightContain(Object element) {
+        if (!ready) {
+            return true;
+        }
+        AtomicLongArray current = bits;
+        for (long index : indexes(element)) {
+            if ((current.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 写入元素：更新本地镜像及Redis位图（管道SETBIT）
+     */
+    public void put(Object element) {
+        long[] indexes = putLocal(element);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (long index : indexes) {
+                connection.stringCommands().setBit(rawKey, index, true);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 只更新本地镜像（收到其他节点的写入广播时调用）
+     */
+    public long[] putLocal(Object element) {
+        long[] indexes = indexes(element);
+        // 先登记再写镜像：登记晚于加载完成的重放时，读取到的一定是新镜像
+        Queue<long[]> pending = pendingPuts;
+        if (pending != null) {
+            pending.add(indexes);
+        }
+        setBits(bits, indexes);
+        insertions.increment();
+        return indexes;
+    }
+
+    /**
+     * 从Redis加载位图到本地镜像，Redis中不存在时保留本地镜像
+     * 从GET开始到替换镜像之间的本地写入会重放到新镜像，不会丢失
+     */
+    public synchronized boolean reload() {
+        Queue<long[]> pending = new ConcurrentLinkedQueue<>();
+        pendingPuts = pending;
+        try {
+            return load(pending);
+        } finally {
+            pendingPuts = null;
+        }
+    }
+
+    private boolean load(Queue<long[]> pending) {
+        byte[] bytes = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey));
+        if (bytes == null) {
+            return false;
+        }
+        AtomicLongArray loaded = new AtomicLongArray((int) (bitSize / 64));
+        int length = (int) Math.min(bytes.length, bitSize / 8);
+        for (int i = 0; i < length; i++) {
+            int b = bytes[i] & 0xFF;
+            if (b == 0) {
+                continue;
+            }
+            // Redis位图每个字节高位在前
+            long word = 0;
+            for (int bit = 0; bit < 8; bit++) {
+                if ((b & (0x80 >>> bit)) != 0) {
+                    word |= 1L << ((i % 8) * 8 + bit);
+                }
+            }
+            int wordIndex = i / 8;
+            loaded.set(wordIndex, loaded.get(wordIndex) | word);
+        }
+        bits = loaded;
+        long[] indexes;
+        while ((indexes = pending.poll()) != null) {
+            setBits(loaded, indexes);
+        }
+        insertions.reset();
+        ready = true;
+        return true;
+    }
+
+    /**
+     * 使用给定元素全量重建：先在本地构建，再整体写入Redis临时key并RENAME替换，重建期间读取不受影响
+     * 重建期间的写入（本节点写入及其他节点广播的写入）会重放到新镜像，并在RENAME之后重新SETBIT，不会丢失
+     *
+     * @return 写入的元素数量
+     */
+    public synchronized long rebuild(Iterable<?> elements) {
+        Queue<long[]> pending = new ConcurrentLinkedQueue<>();
+        pendingPuts = pending;
+        try {
+            return rebuild(elements, pending);
+        } finally {
+            pendingPuts = null;
+        }
+    }
+
+    private long rebuild(Iterable<?> elements, Queue<long[]> pending) {
+        AtomicLongArray rebuilt = new AtomicLongArray((int) (bitSize / 64));
+        long count = 0;
+        for (Object element : elements) {
+            setBits(rebuilt, indexes(element));
+            count++;
+        }
+        byte[] bytes = new byte[(int) (bitSize / 8)];
+        for (int i = 0; i < rebuilt.length(); i++) {
+            long word = rebuilt.get(i);
+            if (word == 0) {
+                continue;
+            }
+            for (int bit = 0; bit < 64; bit++) {
+                if ((word & (1L << bit)) != 0) {
+                    bytes[i * 8 + bit / 8] |= (byte) (0x80 >>> (bit % 8));
+                }
+            }
+        }
+        byte[] tempKey = (new String(rawKey, StandardCharsets.UTF_8) + ":rebuild").getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(tempKey, bytes);
+            connection.keyCommands().rename(tempKey, rawKey);
+            return null;
+        });
+        bits = rebuilt;
+        List<long[]> replayed = new ArrayList<>();
+        long[] indexes;
+        while ((indexes = pending.poll()) != null) {
+            setBits(rebuilt, indexes);
+            replayed.add(indexes);
+        }
+        // 重建期间的SETBIT可能落在RENAME之前而被覆盖，重新写入
+        if (!replayed.isEmpty()) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (long[] replayedIndexes : replayed) {
+                    for (long index : replayedIndexes) {
+                        connection.stringCommands().setBit(rawKey, index, true);
+                    }
+                }
+                return null;
+            });
+        }
+        insertions.reset();
+        ready = true;
+        return count;
+    }
+
+    /**
+     * 批量写入本地镜像及Redis位图
+     */
+    public void putAll(Collection<?> elements) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        long[][] all = new long[elements.size()][];
+        int i = 0;
+        for (Object element : elements) {
+            all[i++] = putLocal(element);
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (long[] indexes : all) {
+                for (long index : indexes) {
+                    connection.stringCommands().setBit(rawKey, index, true);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 当前统计信息，遍历本地镜像计算置位数
+     */
+    public BloomFilterStats getStats() {
+        AtomicLongArray current = bits;
+        long bitCount = 0;
+        for (int i = 0; i < current.length(); i++) {
+            bitCount += Long.bitCount(current.get(i));
+        }
+        double fillRatio = (double) bitCount / bitSize;
+        BloomFilterStats stats = new BloomFilterStats();
+        stats.setName(name);
+        stats.setReady(ready);
+        stats.setExpectedInsertions(expectedInsertions);
+        stats.setExpectedFalseProbability(falseProbability);
+        stats.setBitSize(bitSize);
+        stats.setHashIterations(hashIterations);
+        stats.setMemoryBytes(bitSize / 8);
+        stats.setBitCount(bitCount);
+        stats.setApproximateElements(fillRatio >= 1 ? -1
+                : Math.round(-(double) bitSize / hashIterations * Math.log(1 - fillRatio)));
+        stats.setInsertionsSinceLoad(insertions.sum());
+        stats.setEstimatedFalseProbability(Math.pow(fillRatio, hashIterations));
+        return stats;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 是否已从Redis加载或全量构建
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 计算元素的位下标：murmur3 128位哈希的两半做双重哈希
+     * 元素统一按 String.valueOf 编码，Long 1 与 "1" 视为同一元素
+     */
+    private long[] indexes(Object element) {
+        long[] hash = MurmurHash.hash128(String.valueOf(element).getBytes(StandardCharsets.UTF_8));
+        long[] indexes = new long[hashIterations];
+        long combined = hash[0];
+        for (int i = 0; i < hashIterations; i++) {
+            indexes[i] = (combined & Long.MAX_VALUE) % bitSize;
+            combined += hash[1];
+        }
+        return indexes;
+    }
+
+    private static void setBits(AtomicLongArray target, long[] indexes) {
+        for (long index : indexes) {
+            int wordIndex = (int) (index >>> 6);
+            long mask = 1L << index;
+            long word;
+            do {
+                word = target.get(wordIndex);
+                if ((word & mask) != 0) {
+                    break;
+                }
+            } while (!target.compareAndSet(wordIndex, word, word | mask));
+        }
+    }
+}
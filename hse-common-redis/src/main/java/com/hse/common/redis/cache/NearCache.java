@@ -0,0 +1,354 @@
+package com.hse.common.redis.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis本地近端缓存（L1）
+ * 进程内有界缓存（W-TinyLFU淘汰 + TTL），通过Redis发布订阅在各节点间广播失效
+ *
+ * 注意：L1返回的是共享实例，调用方不应修改缓存中取出的对象
+ *
+ * @author HSE
+ */
+@Slf4j
+public class NearCache {
+
+    /**
+     * 失效广播频道
+     */
+    public static final String INVALIDATE_CHANNEL = "hse:near-cache:invalidate";
+
+    /**
+     * 未带命名空间的key归入该统计项
+     */
+    public static final String DEFAULT_NAMESPACE = "default";
+
+    private static final String NAMESPACE_SEPARATOR = ":";
+
+    private static final char PAYLOAD_SEPARATOR = '|';
+
+    private static final String KEY_SEPARATOR = "\n";
+
+    /**
+     * 单条消息携带的key数量上限，超出时改为清空全部
+     */
+    private static final int MAX_KEYS_PER_MESSAGE = 1000;
+
+    private static final String ALL_KEYS = "";
+
+    private static final byte[] INVALIDATE_CHANNEL_BYTES = INVALIDATE_CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 当前节点标识，用于忽略自己发出的失效消息
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final long defaultTtlNanos;
+
+    /**
+     * 允许进入L1的命名空间，为空表示全部
+     */
+    private final Set<String> namespaces;
+
+    private final Cache<String, Entry> cache;
+
+    private final ConcurrentMap<String, NamespaceStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * 失效版本号：回源期间若发生失效则放弃写入L1，避免旧值回填
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public NearCache(RedisTemplate<String, Object> redisTemplate, long maximumSize,
+                     long ttl, TimeUnit unit, Collection<String> namespaces) {
+        this.redisTemplate = redisTemplate;
+        this.defaultTtlNanos = unit.toNanos(ttl);
+        this.namespaces = namespaces == null || namespaces.isEmpty()
+                ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(namespaces));
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EntryExpiry())
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (key != null && cause.wasEvicted()) {
+                        statsOf(key).evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 判断key是否走L1
+     */
+    public boolean accepts(String key) {
+        return namespaces.isEmpty() || namespaces.contains(namespaceOf(key));
+    }
+
+    /**
+     * 读取L1，未命中返回null
+     */
+    public Object get(String key) {
+        Entry entry = cache.getIfPresent(key);
+        NamespaceStats namespaceStats = statsOf(key);
+        if (entry == null) {
+            namespaceStats.misses.increment();
+            return null;
+        }
+        namespaceStats.hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * 获取当前失效版本号，回源前调用
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * 回源成功后写入L1，期间发生过失效则放弃
+     */
+    public void putIfUnchanged(String key, Object value, long stamp) {
+        putIfUnchanged(key, value, stamp, defaultTtlNanos);
+    }
+
+    /**
+     * 回源成功后写入L1，TTL不超过默认值
+     */
+    public void putIfUnchanged(String key, Object value, long stamp, long ttl, TimeUnit unit) {
+        putIfUnchanged(key, value, stamp, Math.min(defaultTtlNanos, unit.toNanos(ttl)));
+    }
+
+    /**
+     * 回源成功后写入L1，TTL不超过Redis剩余过期时间
+     *
+     * @param pttl Redis PTTL（毫秒），-1表示未设置过期（使用默认TTL），-2或null表示key不存在
+     */
+    public void putWithPttl(String key, Object value, long stamp, Long pttl) {
+        if (pttl == null || pttl < -1) {
+            return;
+        }
+        if (pttl == -1) {
+            putIfUnchanged(key, value, stamp);
+        } else {
+            putIfUnchanged(key, value, stamp, pttl, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void putIfUnchanged(String key, Object value, long stamp, long ttlNanos) {
+        if (value == null || ttlNanos <= 0 || invalidations.get() != stamp) {
+            return;
+        }
+        Entry entry = new Entry(value, ttlNanos);
+        cache.put(key, entry);
+        // 检查与写入之间可能发生失效（失效先递增版本号再删除），写入后复查，版本号变化则撤回本次写入
+        if (invalidations.get() != stamp) {
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    /**
+     * 失效本节点L1并广播给其他节点
+     */
+    public void invalidate(String key) {
+        invalidateLocal(key);
+        publish(key);
+    }
+
+    /**
+     * 批量失效本节点L1，合并为一条广播；key过多时清空所有节点的L1
+     */
+    public void invalidate(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (keys.size() > MAX_KEYS_PER_MESSAGE) {
+            invalidateAll();
+            return;
+        }
+        invalidations.incrementAndGet();
+        cache.invalidateAll(keys);
+        StringBuilder payload = new StringBuilder();
+        for (String key : keys) {
+            if (payload.length() > 0) {
+                payload.append(KEY_SEPARATOR);
+            }
+            payload.append(key);
+        }
+        publish(payload.toString());
+    }
+
+    /**
+     * 仅失效本节点L1
+     */
+    public void invalidateLocal(String key) {
+        invalidations.incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    /**
+     * 清空本节点L1
+     */
+    public void invalidateAllLocal() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * 清空所有节点的L1，用于批量删除等无法逐个广播的场景
+     */
+    public void invalidateAll() {
+        invalidateAllLocal();
+        publish(ALL_KEYS);
+    }
+
+    /**
+     * 处理其他节点广播的失效消息，格式：nodeId|key，多个key以换行分隔，key为空表示清空全部
+     */
+    public void onInvalidation(String payload) {
+        int index = payload.indexOf(PAYLOAD_SEPARATOR);
+        if (index < 0) {
+            return;
+        }
+        if (nodeId.equals(payload.substring(0, index))) {
+            return;
+        }
+        String keys = payload.substring(index + 1);
+        if (ALL_KEYS.equals(keys)) {
+            invalidateAllLocal();
+        } else if (keys.indexOf(KEY_SEPARATOR) < 0) {
+            invalidateLocal(keys);
+        } else {
+            invalidations.incrementAndGet();
+            cache.invalidateAll(Arrays.asList(keys.split(KEY_SEPARATOR)));
+        }
+    }
+
+    /**
+     * 当前L1条目数（估算值）
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 按命名空间统计的命中/未命中/淘汰次数
+     */
+    public Map<String, NamespaceStats> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(stats));
+    }
+
+    /**
+     * 失效广播消息体，供异步客户端自行发布
+     */
+    public byte[] invalidationPayload(String key) {
+        return (nodeId + PAYLOAD_SEPARATOR + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void publish(String key) {
+        byte[] payload = invalidationPayload(key);
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(INVALIDATE_CHANNEL_BYTES, payload));
+        } catch (Exception e) {
+            // 广播失败时其他节点依赖TTL兜底
+            log.warn("近端缓存失效广播失败: {}", key, e);
+        }
+    }
+
+    private NamespaceStats statsOf(String key) {
+        return stats.computeIfAbsent(namespaceOf(key), k -> new NamespaceStats());
+    }
+
+    private static String namespaceOf(String key) {
+        int index = key.indexOf(NAMESPACE_SEPARATOR);
+        return index > 0 ? key.substring(0, index) : DEFAULT_NAMESPACE;
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class Entry {
+
+        private final Object value;
+
+        private final long ttlNanos;
+
+        private Entry(Object value, long ttlNanos) {
+            this.value = value;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+
+    /**
+     * 按条目自身TTL过期
+     */
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * 命名空间统计
+     */
+    public static final class NamespaceStats {
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        private final LongAdder evictions = new LongAdder();
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public long getEvictions() {
+            return evictions.sum();
+        }
+
+        public double getHitRate() {
+            long hit = getHits();
+            long total = hit + getMisses();
+            return total == 0 ? 0D : (double) hit / total;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.hse.common.redis.config;
+
+import com.hse.common.redis.bloom.BloomFilterEndpoint;
+import com.hse.common.redis.bloom.BloomFilterManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 布隆过滤器配置
+ * 开启方式：hse.redis.bloom-filter.enabled=true，过滤器由业务启动时通过 BloomFilterManager.register 注册
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hse.redis.bloom-filter", name = "enabled", havingValue = "true")
+public class BloomFilterConfig {
+
+    /**
+     * 布隆过滤器管理器
+     */
+    @Bean
+    public BloomFilterManager bloomFilterManager(RedisTemplate<String, Object> redisTemplate,
+                                                 @Value("${hse.redis.bloom-filter.resync-interval-seconds:300}") long resyncIntervalSeconds) {
+        return new BloomFilterManager(redisTemplate, resyncIntervalSeconds);
+    }
+
+    /**
+     * 订阅同步广播
+     */
+    @Bean
+    public RedisMessageListenerContainer bloomFilterListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                      BloomFilterManager bloomFilterManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> bloomFilterManager.onSync(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(BloomFilterManager.SYNC_CHANNEL));
+        return container;
+    }
+
+    /**
+     * 布隆过滤器监控端点
+     */
+    @Bean
+    public BloomFilterEndpoint bloomFilterEndpoint(BloomFilterManager bloomFilterManager) {
+        return new BloomFilterEndpoint(bloomFilterManager);
+    }
+}
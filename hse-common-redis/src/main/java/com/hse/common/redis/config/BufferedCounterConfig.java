@@ -0,0 +1,30 @@
+package com.hse.common.redis.config;
+
+import com.hse.common.redis.counter.BufferedCounter;
+import com.hse.common.redis.utils.RedisUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 本地聚合计数器配置
+ * 开启方式：hse.redis.counter.enabled=true
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hse.redis.counter", name = "enabled", havingValue = "true")
+public class BufferedCounterConfig {
+
+    /**
+     * 本地聚合计数器
+     */
+    @Bean
+    public BufferedCounter bufferedCounter(RedisUtil redisUtil,
+                                           @Value("${hse.redis.counter.flush-interval-millis:1000}") long flushIntervalMillis,
+                                           @Value("${hse.redis.counter.flush-threshold:10000}") int flushThreshold,
+                                           @Value("${hse.redis.counter.batch-size:500}") int batchSize) {
+        return new BufferedCounter(redisUtil, flushIntervalMillis, flushThreshold, batchSize);
+    }
+}
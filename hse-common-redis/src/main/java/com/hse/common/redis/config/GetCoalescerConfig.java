@@ -0,0 +1,31 @@
+package com.hse.common.redis.config;
+
+import com.hse.common.redis.batch.GetCoalescer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * GET请求合并配置
+ * 开启方式：hse.redis.coalesce.enabled=true
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hse.redis.coalesce", name = "enabled", havingValue = "true")
+public class GetCoalescerConfig {
+
+    /**
+     * GET请求合并器
+     */
+    @Bean
+    public GetCoalescer getCoalescer(RedisTemplate<String, Object> redisTemplate,
+                                     @Value("${hse.redis.coalesce.window-micros:500}") long windowMicros,
+                                     @Value("${hse.redis.coalesce.max-batch-size:64}") int maxBatchSize,
+                                     @Value("${hse.redis.coalesce.timeout-millis:3000}") long timeoutMillis,
+                                     @Value("${hse.redis.coalesce.dispatch-threads:4}") int dispatchThreads) {
+        return new GetCoalescer(redisTemplate, windowMicros, maxBatchSize, timeoutMillis, dispatchThreads);
+    }
+}
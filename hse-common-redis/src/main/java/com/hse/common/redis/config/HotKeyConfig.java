@@ -0,0 +1,40 @@
+package com.hse.common.redis.config;
+
+import com.hse.common.redis.hotkey.HotKeyDetector;
+import com.hse.common.redis.hotkey.HotKeyEndpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 热点key探测配置
+ * 开启方式：hse.redis.hot-key.enabled=true，关闭时 RedisUtil 不做任何统计
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hse.redis.hot-key", name = "enabled", havingValue = "true")
+public class HotKeyConfig {
+
+    /**
+     * 热点key探测器
+     */
+    @Bean
+    public HotKeyDetector hotKeyDetector(@Value("${hse.redis.hot-key.sample-rate:4}") int sampleRate,
+                                         @Value("${hse.redis.hot-key.threshold:1000}") long threshold,
+                                         @Value("${hse.redis.hot-key.window-millis:1000}") long windowMillis,
+                                         @Value("${hse.redis.hot-key.top-k:100}") int topK,
+                                         @Value("${hse.redis.hot-key.sketch-width:8192}") int sketchWidth,
+                                         @Value("${hse.redis.hot-key.local-ttl-millis:1000}") long localTtlMillis) {
+        return new HotKeyDetector(sampleRate, threshold, windowMillis, topK, sketchWidth, localTtlMillis);
+    }
+
+    /**
+     * 热点key监控端点
+     */
+    @Bean
+    public HotKeyEndpoint hotKeyEndpoint(HotKeyDetector hotKeyDetector) {
+        return new HotKeyEndpoint(hotKeyDetector);
+    }
+}
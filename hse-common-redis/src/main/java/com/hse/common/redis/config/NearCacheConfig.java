@@ -0,0 +1,51 @@
+package com.hse.common.redis.config;
+
+import com.hse.common.redis.cache.NearCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis近端缓存配置
+ * 开启方式：hse.redis.near-cache.enabled=true
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hse.redis.near-cache", name = "enabled", havingValue = "true")
+public class NearCacheConfig {
+
+    /**
+     * 本地近端缓存
+     */
+    @Bean
+    public NearCache nearCache(RedisTemplate<String, Object> redisTemplate,
+                               @Value("${hse.redis.near-cache.maximum-size:10000}") long maximumSize,
+                               @Value("${hse.redis.near-cache.ttl-seconds:60}") long ttlSeconds,
+                               @Value("${hse.redis.near-cache.namespaces:}") String[] namespaces) {
+        return new NearCache(redisTemplate, maximumSize, ttlSeconds, TimeUnit.SECONDS, Arrays.asList(namespaces));
+    }
+
+    /**
+     * 订阅失效广播
+     */
+    @Bean
+    public RedisMessageListenerContainer nearCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                    NearCache nearCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> nearCache.onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(NearCache.INVALIDATE_CHANNEL));
+        return container;
+    }
+}
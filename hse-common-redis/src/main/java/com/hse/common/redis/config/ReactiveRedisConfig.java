@@ -0,0 +1,34 @@
+package com.hse.common.redis.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * 响应式Redis配置
+ * 与 {@link RedisConfig} 共用同一个值序列化器，同步与异步读写的数据完全互通
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnClass(name = "reactor.core.publisher.Flux")
+public class ReactiveRedisConfig {
+
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                                                       RedisSerializer<Object> redisValueSerializer) {
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(StringRedisSerializer.UTF_8)
+                .key(StringRedisSerializer.UTF_8)
+                .value(redisValueSerializer)
+                .hashKey(StringRedisSerializer.UTF_8)
+                .hashValue(redisValueSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
+}
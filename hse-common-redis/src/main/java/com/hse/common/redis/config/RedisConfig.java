@@ -15,11 +15,14 @@ import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
+import com.hse.common.redis.serializer.HseRedisSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.text.SimpleDateFormat;
@@ -27,11 +30,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 import java.util.TimeZone;
 
 /**
  * Redis配置
  * 与Web层保持一致的序列化策略（蛇形命名）
+ * 可切换为JSONB二进制格式并按阈值压缩，见 {@link HseRedisSerializer}
  *
  * @author HSE
  */
@@ -42,25 +47,38 @@ public class RedisConfig {
     private static final String DATE_FORMAT = "yyyy-MM-dd";
     private static final String TIME_FORMAT = "HH:mm:ss";
 
+    /**
+     * Redis值序列化器
+     * 通过 hse.redis.serializer.type 选择 json（默认）或 jsonb，旧的JSON数据始终可读
+     */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisSerializer<Object> redisValueSerializer(
+            @Value("${hse.redis.serializer.type:json}") String type,
+            @Value("${hse.redis.serializer.compress-threshold:0}") int compressThreshold,
+            @Value("${hse.redis.serializer.accept-packages:com.hse}") String[] acceptPackages) {
+        // JSON序列化配置
+        Jackson2JsonRedisSerializer<Object> jsonSerializer = new Jackson2JsonRedisSerializer<>(Object.class);
+        jsonSerializer.setObjectMapper(createObjectMapper());
+
+        HseRedisSerializer.Format format = HseRedisSerializer.Format.valueOf(type.trim().toUpperCase(Locale.ROOT));
+        return new HseRedisSerializer(format, compressThreshold, jsonSerializer, acceptPackages);
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       RedisSerializer<Object> redisValueSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        // JSON序列化配置
-        Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
-        ObjectMapper mapper = createObjectMapper();
-        serializer.setObjectMapper(mapper);
-
         // String序列化
         StringRedisSerializer stringSerializer = new StringRedisSerializer();
 
         // key采用String的序列化方式
         template.setKeySerializer(stringSerializer);
         template.setHashKeySerializer(stringSerializer);
-        // value序列化方式采用jackson
-        template.setValueSerializer(serializer);
-        template.setHashValueSerializer(serializer);
+        // value序列化方式由 hse.redis.serializer.type 决定
+        template.setValueSerializer(redisValueSerializer);
+        template.setHashValueSerializer(redisValueSerializer);
 
         template.afterPropertiesSet();
         return template;
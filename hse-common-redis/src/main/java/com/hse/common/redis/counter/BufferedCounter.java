@@ -0,0 +1,210 @@
+package com.hse.common.redis.counter;
+
+import com.hse.common.redis.utils.RedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地聚合计数器
+ * 计数先累加到本地分段计数单元（LongAdder），按时间间隔或待刷新key数量阈值批量INCRBY到Redis（管道）
+ *
+ * 语义说明：
+ * - Redis中的值相对实际计数最多延迟一个刷新间隔，本节点未刷新的部分可通过 getPending 获取
+ * - 正常停机时会执行最后一次刷新；进程崩溃时最多丢失一个刷新间隔内的增量
+ * - 刷新失败时增量退回本地，下次重试；网络超时等无法确认结果的情况可能重复计数
+ * - 适用于PV、调用次数等统计类计数，不适用于库存等需要强一致的场景
+ *
+ * @author HSE
+ */
+@Slf4j
+public class BufferedCounter implements DisposableBean {
+
+    private final RedisUtil redisUtil;
+
+    private final int flushThreshold;
+
+    private final int batchSize;
+
+    private final ConcurrentMap<String, Cell> cells = new ConcurrentHashMap<>();
+
+    /**
+     * 上次刷新时移除的空闲计数单元，下次刷新时再检查一次，避免移除瞬间的并发增量丢失
+     */
+    private Map<String, Cell> retired = new HashMap<>();
+
+    /**
+     * 上次刷新以来有增量的key数量（已清零的空闲单元不计入）
+     */
+    private final AtomicInteger dirtyKeys = new AtomicInteger();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param flushIntervalMillis 刷新间隔（毫秒）
+     * @param flushThreshold      待刷新key数量达到该值时立即触发刷新
+     * @param batchSize           单个管道的最大命令数
+     */
+    public BufferedCounter(RedisUtil redisUtil, long flushIntervalMillis, int flushThreshold, int batchSize) {
+        this.redisUtil = redisUtil;
+        this.flushThreshold = flushThreshold;
+        this.batchSize = batchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hse-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 递增
+     */
+    public void increment(String key) {
+        increment(key, 1L);
+    }
+
+    /**
+     * 递增指定值
+     */
+    public void increment(String key, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        add(key, delta);
+        if (dirtyKeys.get() >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 递减
+     */
+    public void decrement(String key) {
+        increment(key, -1L);
+    }
+
+    /**
+     * 递减指定值
+     */
+    public void decrement(String key, long delta) {
+        increment(key, -delta);
+    }
+
+    /**
+     * 本节点尚未刷新到Redis的增量
+     */
+    public long getPending(String key) {
+        Cell cell = cells.get(key);
+        return cell == null ? 0L : cell.adder.sum();
+    }
+
+    /**
+     * 立即刷新到Redis
+     */
+    public synchronized void flush() {
+        Map<String, Long> deltas = new HashMap<>();
+        for (Map.Entry<String, Cell> entry : retired.entrySet()) {
+            drain(entry.getKey(), entry.getValue(), deltas);
+        }
+        retired = new HashMap<>();
+        for (Map.Entry<String, Cell> entry : cells.entrySet()) {
+            Cell cell = entry.getValue();
+            if (!drain(entry.getKey(), cell, deltas) && cells.remove(entry.getKey(), cell)) {
+                retired.put(entry.getKey(), cell);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(deltas.entrySet());
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<Map.Entry<String, Long>> batch = entries.subList(from, Math.min(from + batchSize, entries.size()));
+            try {
+                redisUtil.pipeline(operations -> batch.forEach(e -> operations.opsForValue().increment(e.getKey(), e.getValue())));
+            } catch (Exception e) {
+                log.warn("计数器刷新失败，{}个key的增量已退回本地等待重试", batch.size(), e);
+                batch.forEach(entry -> add(entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * 累加到计数单元，单元由干净变脏时计入待刷新key数量
+     */
+    private void add(String key, long delta) {
+        Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+        cell.adder.add(delta);
+        if (!cell.dirty.get() && cell.dirty.compareAndSet(false, true)) {
+            dirtyKeys.incrementAndGet();
+        }
+    }
+
+    /**
+     * 取出计数单元当前值并从单元中扣除（不会丢失并发增量），返回是否有增量
+     * 先清除脏标记再取值，取值之后的增量会重新标记
+     */
+    private boolean drain(String key, Cell cell, Map<String, Long> deltas) {
+        if (cell.dirty.getAndSet(false)) {
+            dirtyKeys.decrementAndGet();
+        }
+        long sum = cell.adder.sum();
+        if (sum == 0) {
+            return false;
+        }
+        cell.adder.add(-sum);
+        deltas.merge(key, sum, Long::sum);
+        return true;
+    }
+
+    private void flushQuietly() {
+        flushScheduled.set(false);
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("计数器刷新异常", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 停机前最后一次刷新（空闲单元需要两轮才会清空）
+        flush();
+        flush();
+    }
+
+    /**
+     * 计数单元
+     */
+    private static final class Cell {
+
+        private final LongAdder adder = new LongAdder();
+
+        /**
+         * 上次刷新以来是否有增量
+         */
+        private final AtomicBoolean dirty = new AtomicBoolean();
+    }
+}
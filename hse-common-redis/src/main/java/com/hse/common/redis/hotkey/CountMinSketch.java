@@ -0,0 +1,71 @@
+package com.hse.common.redis.hotkey;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 并发Count-Min Sketch
+ * 固定内存估算元素出现次数，只会高估不会低估
+ *
+ * @author HSE
+ */
+public class CountMinSketch {
+
+    private static final int DEPTH = 4;
+
+    private final int mask;
+
+    private final AtomicLongArray counters;
+
+    /**
+     * @param width 每行计数器个数，向上取整为2的幂
+     */
+    public CountMinSketch(int width) {
+        int size = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        this.mask = size - 1;
+        this.counters = new AtomicLongArray(size * DEPTH);
+    }
+
+    /**
+     * 计数加一并返回当前估算值
+     */
+    public long increment(Object item) {
+        int hash = spread(item.hashCode());
+        int step = spread(hash) | 1;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = i * (mask + 1) + ((hash + i * step) & mask);
+            min = Math.min(min, counters.incrementAndGet(index));
+        }
+        return min;
+    }
+
+    /**
+     * 估算出现次数
+     */
+    public long estimate(Object item) {
+        int hash = spread(item.hashCode());
+        int step = spread(hash) | 1;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = i * (mask + 1) + ((hash + i * step) & mask);
+            min = Math.min(min, counters.get(index));
+        }
+        return min;
+    }
+
+    /**
+     * 清零
+     */
+    public void reset() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
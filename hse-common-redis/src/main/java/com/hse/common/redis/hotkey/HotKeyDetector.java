@@ -0,0 +1,192 @@
+package com.hse.common.redis.hotkey;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 热点key探测器
+ * 按采样率将key访问计入Count-Min Sketch，单个统计窗口内估算访问量超过阈值的key被标记为热点，
+ * 其值提升到短TTL的本地缓存，直到某个窗口访问量回落到阈值以下
+ *
+ * 本地缓存的值在本节点写操作时立即失效，其他节点的写入最多延迟 localTtl 可见
+ *
+ * @author HSE
+ */
+@Slf4j
+public class HotKeyDetector implements DisposableBean {
+
+    private final int sampleRate;
+
+    /**
+     * 单个窗口内的采样计数阈值（= 访问量阈值 / 采样率）
+     */
+    private final long sampledThreshold;
+
+    private final int topK;
+
+    private final CountMinSketch sketch;
+
+    /**
+     * 当前热点key -> 上一窗口估算访问量
+     */
+    private final ConcurrentMap<String, Long> hotKeys = new ConcurrentHashMap<>();
+
+    private final Cache<String, Object> localCache;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param sampleRate    采样率，每N次访问采样1次
+     * @param threshold     窗口内访问量阈值
+     * @param windowMillis  统计窗口（毫秒）
+     * @param topK          最多同时提升的热点key数量
+     * @param sketchWidth   Count-Min Sketch宽度
+     * @param localTtlMillis 热点值本地缓存时间（毫秒）
+     */
+    public HotKeyDetector(int sampleRate, long threshold, long windowMillis, int topK,
+                          int sketchWidth, long localTtlMillis) {
+        this.sampleRate = Math.max(1, sampleRate);
+        this.sampledThreshold = Math.max(1, threshold / this.sampleRate);
+        this.topK = topK;
+        this.sketch = new CountMinSketch(sketchWidth);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(topK)
+                .expireAfterWrite(localTtlMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hse-hot-key-window");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleAtFixedRate(this::rotate, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 记录一次访问，返回该key当前是否为热点
+     */
+    public boolean record(String key) {
+        if (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            long count = sketch.increment(key);
+            if (count >= sampledThreshold && !hotKeys.containsKey(key)) {
+                markHot(key, count);
+            }
+        }
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * 读取热点值的本地副本，非热点或未提升时返回null
+     */
+    public Object get(String key) {
+        return localCache.getIfPresent(key);
+    }
+
+    /**
+     * 获取当前失效版本号，回源前调用
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * 将热点值提升到本地缓存，期间发生过失效则放弃
+     */
+    public void promote(String key, Object value, long stamp) {
+        if (value == null || !hotKeys.containsKey(key) || invalidations.get() != stamp) {
+            return;
+        }
+        localCache.put(key, value);
+        // 检查与写入之间可能发生失效（失效先递增版本号再删除），写入后复查，版本号变化则撤回本次写入
+        if (invalidations.get() != stamp) {
+            localCache.asMap().remove(key, value);
+        }
+    }
+
+    /**
+     * 失效本地副本
+     */
+    public void invalidate(String key) {
+        invalidations.incrementAndGet();
+        localCache.invalidate(key);
+    }
+
+    /**
+     * 当前热点key及上一窗口估算访问量，按访问量降序
+     */
+    public Map<String, Long> getHotKeys() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(hotKeys.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    private synchronized void markHot(String key, long sampledCount) {
+        if (hotKeys.containsKey(key)) {
+            return;
+        }
+        if (hotKeys.size() >= topK) {
+            // 已满时替换访问量最小的热点
+            Map.Entry<String, Long> coldest = null;
+            for (Map.Entry<String, Long> entry : hotKeys.entrySet()) {
+                if (coldest == null || entry.getValue() < coldest.getValue()) {
+                    coldest = entry;
+                }
+            }
+            if (coldest == null || coldest.getValue() >= sampledCount * sampleRate) {
+                return;
+            }
+            demote(coldest.getKey());
+        }
+        hotKeys.put(key, sampledCount * sampleRate);
+        log.info("发现热点key: {}", key);
+    }
+
+    /**
+     * 窗口轮转：更新热点访问量，访问量回落的key降级，然后清零计数
+     */
+    private synchronized void rotate() {
+        try {
+            for (String key : hotKeys.keySet()) {
+                long count = sketch.estimate(key);
+                if (count < sampledThreshold) {
+                    demote(key);
+                } else {
+                    hotKeys.put(key, count * sampleRate);
+                }
+            }
+            sketch.reset();
+        } catch (Exception e) {
+            log.warn("热点key窗口轮转失败", e);
+        }
+    }
+
+    private void demote(String key) {
+        hotKeys.remove(key);
+        localCache.invalidate(key);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+}
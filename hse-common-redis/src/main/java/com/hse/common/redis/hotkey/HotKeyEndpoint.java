@@ -0,0 +1,25 @@
+package com.hse.common.redis.hotkey;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * 热点key监控端点：GET /actuator/hotkeys
+ * 返回当前节点的热点key及上一窗口估算访问量
+ *
+ * @author HSE
+ */
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeyEndpoint {
+
+    private final HotKeyDetector hotKeyDetector;
+
+    @ReadOperation
+    public Map<String, Long> hotKeys() {
+        return hotKeyDetector.getHotKeys();
+    }
+}
@@ -0,0 +1,62 @@
+package com.hse.common.redis.lock;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已获取的分布式锁，关闭时释放并记录持有时间
+ *
+ * <pre>
+ * try (LockHandle handle = lockTemplate.tryLock(...)) { ... }
+ * </pre>
+ *
+ * @author HSE
+ */
+@Slf4j
+public class LockHandle implements AutoCloseable {
+
+    private final RLock lock;
+
+    private final String lockKey;
+
+    private final Timer holdTimer;
+
+    private final long acquiredAt;
+
+    private boolean released;
+
+    LockHandle(RLock lock, String lockKey, Timer holdTimer) {
+        this.lock = lock;
+        this.lockKey = lockKey;
+        this.holdTimer = holdTimer;
+        this.acquiredAt = System.nanoTime();
+    }
+
+    /**
+     * 锁的Redis key（多key锁为逗号拼接）
+     */
+    public String getLockKey() {
+        return lockKey;
+    }
+
+    /**
+     * 释放锁
+     */
+    @Override
+    public void close() {
+        if (released) {
+            return;
+        }
+        released = true;
+        holdTimer.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+        try {
+            lock.unlock();
+        } catch (IllegalMonitorStateException e) {
+            // 指定了租期且业务执行超时，锁已自动释放
+            log.warn("释放分布式锁失败，锁可能已过期: {}", lockKey);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.hse.common.redis.lock;
+
+import com.hse.common.core.constant.MessageCode;
+import com.hse.common.core.exception.ServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 分布式锁模板（基于Redisson）
+ * leaseTime 小于等于0时启用看门狗自动续期，业务未执行完锁不会过期
+ *
+ * 指标（按锁名称统计，不包含具体key，避免标签基数过高）：
+ * - hse.lock.wait：获取锁的等待时间，result=acquired/timeout
+ * - hse.lock.hold：锁的持有时间
+ *
+ * @author HSE
+ */
+@Slf4j
+@Component
+public class LockTemplate {
+
+    private static final String LOCK_PREFIX = "lock:";
+
+    private final RedissonClient redissonClient;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public LockTemplate(RedissonClient redissonClient, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
+    /**
+     * 加锁执行（可重入锁，看门狗续期），获取失败抛出 {@link MessageCode#LOCK_ACQUIRE_FAIL}
+     *
+     * @param name     锁名称（指标维度）
+     * @param key      业务key
+     * @param waitTime 最大等待时间
+     * @param unit     时间单位
+     * @param action   业务逻辑
+     */
+    public <T> T execute(String name, String key, long waitTime, TimeUnit unit, Supplier<T> action) {
+        return execute(name, Collections.singletonList(key), LockType.REENTRANT, waitTime, -1, unit, action);
+    }
+
+    /**
+     * 加锁执行（无返回值）
+     */
+    public void execute(String name, String key, long waitTime, TimeUnit unit, Runnable action) {
+        execute(name, key, waitTime, unit, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 加锁执行，多个key时同时锁定全部key
+     */
+    public <T> T execute(String name, Collection<String> keys, LockType type, long waitTime, long leaseTime,
+                         TimeUnit unit, Supplier<T> action) {
+        LockHandle handle = tryLock(name, keys, type, waitTime, leaseTime, unit);
+        if (handle == null) {
+            throw ServiceException.of(MessageCode.LOCK_ACQUIRE_FAIL);
+        }
+        try {
+            return action.get();
+        } finally {
+            handle.close();
+        }
+    }
+
+    /**
+     * 尝试加锁，获取失败返回null
+     *
+     * @param name      锁名称（指标维度）
+     * @param keys      业务key，多个时使用联锁（按key排序加锁）
+     * @param type      锁类型
+     * @param waitTime  最大等待时间
+     * @param leaseTime 租期，小于等于0时启用看门狗续期
+     * @param unit      时间单位
+     */
+    public LockHandle tryLock(String name, Collection<String> keys, LockType type, long waitTime, long leaseTime,
+                              TimeUnit unit) {
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalArgumentException("分布式锁key不能为空");
+        }
+        // 按key排序（并去重）后加锁，不同调用方以相反顺序锁定同一组key时不会互相退避（活锁）
+        Set<String> sortedKeys = new TreeSet<>(keys);
+        RLock[] locks = new RLock[sortedKeys.size()];
+        int index = 0;
+        for (String key : sortedKeys) {
+            locks[index++] = getLock(type, LOCK_PREFIX + name + ":" + key);
+        }
+        RLock lock = locks.length == 1 ? locks[0] : redissonClient.getMultiLock(locks);
+        String lockKey = locks.length == 1 ? locks[0].getName() : String.join(",", sortedKeys);
+
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            acquired = lock.tryLock(waitTime, leaseTime > 0 ? leaseTime : -1, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("获取分布式锁被中断: {}", lockKey);
+        }
+        timer("hse.lock.wait", name, type, acquired ? "acquired" : "timeout")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            return null;
+        }
+        return new LockHandle(lock, lockKey, timer("hse.lock.hold", name, type, null));
+    }
+
+    private RLock getLock(LockType type, String lockKey) {
+        switch (type) {
+            case FAIR:
+                return redissonClient.getFairLock(lockKey);
+            case READ:
+                return redissonClient.getReadWriteLock(lockKey).readLock();
+            case WRITE:
+                return redissonClient.getReadWriteLock(lockKey).writeLock();
+            case REENTRANT:
+            default:
+                return redissonClient.getLock(lockKey);
+        }
+    }
+
+    private Timer timer(String metric, String name, LockType type, String result) {
+        String cacheKey = metric + '|' + name + '|' + type + '|' + result;
+        return timers.computeIfAbsent(cacheKey, k -> {
+            Timer.Builder builder = Timer.builder(metric)
+                    .tag("name", name)
+                    .tag("type", type.name())
+                    .publishPercentileHistogram();
+            if (result != null) {
+                builder.tag("result", result);
+            }
+            return builder.register(meterRegistry);
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.hse.common.redis.lock;
+
+/**
+ * 分布式锁类型
+ *
+ * @author HSE
+ */
+public enum LockType {
+
+    /**
+     * 可重入锁
+     */
+    REENTRANT,
+
+    /**
+     * 公平锁（按请求顺序获取）
+     */
+    FAIR,
+
+    /**
+     * 读锁（共享）
+     */
+    READ,
+
+    /**
+     * 写锁（排他）
+     */
+    WRITE
+}
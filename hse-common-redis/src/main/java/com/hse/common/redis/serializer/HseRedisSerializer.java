@@ -0,0 +1,224 @@
+package com.hse.common.redis.serializer;
+
+import com.alibaba.fastjson2.JSONB;
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis值序列化器
+ * 支持JSON（Jackson，兼容旧数据）与JSONB（fastjson2二进制）两种格式，超过阈值自动压缩
+ *
+ * 存储格式：
+ * - 未压缩的JSON：与旧版本完全一致，无头部
+ * - 其他情况：[魔数 0xFE][版本][格式][标志位] + 数据体，压缩时数据体为 [原始长度(4字节)] + deflate数据
+ *
+ * 读取时根据首字节自动识别，无头部的数据按旧版JSON解析，便于灰度切换
+ * 注意：JSONB模式下通过set写入的数值不再是文本，不能再对其INCR/DECR
+ *
+ * @author HSE
+ */
+public class HseRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte MAGIC = (byte) 0xFE;
+
+    private static final byte VERSION = 1;
+
+    private static final byte FLAG_DEFLATE = 1;
+
+    private static final int HEADER_LENGTH = 4;
+
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+
+    private static final JSONWriter.Feature[] JSONB_WRITE_FEATURES = {
+            JSONWriter.Feature.WriteClassName,
+            JSONWriter.Feature.FieldBased,
+            JSONWriter.Feature.WriteNameAsSymbol
+    };
+
+    private static final JSONReader.Feature[] JSONB_READ_FEATURES = {
+            JSONReader.Feature.SupportAutoType,
+            JSONReader.Feature.FieldBased,
+            JSONReader.Feature.UseDefaultConstructorAsPossible
+    };
+
+    /**
+     * 复用压缩器，避免每次分配本地内存
+     */
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    /**
+     * 写入格式
+     */
+    private final Format format;
+
+    /**
+     * 压缩阈值（字节），小于等于0表示不压缩
+     */
+    private final int compressThreshold;
+
+    /**
+     * JSON格式及旧数据使用的序列化器
+     */
+    private final RedisSerializer<Object> jsonSerializer;
+
+    /**
+     * JSONB反序列化类型白名单（类名前缀，JDK基础类型默认允许），未配置时拒绝读取JSONB数据
+     */
+    private final JSONReader.Filter autoTypeFilter;
+
+    /**
+     * @param acceptPackages JSONB反序列化允许的类名前缀，JSONB格式下必须配置
+     */
+    public HseRedisSerializer(Format format, int compressThreshold, RedisSerializer<Object> jsonSerializer,
+                              String... acceptPackages) {
+        String[] accepted = acceptPackages == null ? new String[0]
+                : Arrays.stream(acceptPackages).filter(p -> p != null && !p.trim().isEmpty()).map(String::trim).toArray(String[]::new);
+        if (format == Format.JSONB && accepted.length == 0) {
+            throw new IllegalArgumentException("JSONB格式必须配置反序列化白名单 hse.redis.serializer.accept-packages");
+        }
+        this.format = format;
+        this.compressThreshold = compressThreshold;
+        this.jsonSerializer = jsonSerializer;
+        this.autoTypeFilter = accepted.length == 0 ? null : JSONReader.autoTypeFilter(accepted);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY_ARRAY;
+        }
+        byte[] body = format == Format.JSONB ? JSONB.toBytes(value, JSONB_WRITE_FEATURES) : jsonSerializer.serialize(value);
+        byte flags = 0;
+        if (compressThreshold > 0 && body.length >= compressThreshold) {
+            byte[] compressed = deflate(body);
+            if (compressed.length < body.length) {
+                body = compressed;
+                flags = FLAG_DEFLATE;
+            }
+        }
+        if (format == Format.JSON && flags == 0) {
+            return body;
+        }
+        byte[] result = new byte[HEADER_LENGTH + body.length];
+        result[0] = MAGIC;
+        result[1] = VERSION;
+        result[2] = format.getCode();
+        result[3] = flags;
+        System.arraycopy(body, 0, result, HEADER_LENGTH, body.length);
+        return result;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] > VERSION) {
+            throw new SerializationException("无法识别的Redis值格式，版本: " + bytes[1]);
+        }
+        byte[] body = (bytes[3] & FLAG_DEFLATE) != 0
+                ? inflate(bytes, HEADER_LENGTH)
+                : Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+        Format bodyFormat = Format.of(bytes[2]);
+        if (bodyFormat == Format.JSONB) {
+            if (autoTypeFilter == null) {
+                throw new SerializationException("未配置hse.redis.serializer.accept-packages，拒绝反序列化JSONB数据");
+            }
+            try {
+                return JSONB.parseObject(body, Object.class, autoTypeFilter, JSONB_READ_FEATURES);
+            } catch (Exception e) {
+                throw new SerializationException("JSONB反序列化失败", e);
+            }
+        }
+        return jsonSerializer.deserialize(body);
+    }
+
+    private static byte[] deflate(byte[] source) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(source);
+        deflater.finish();
+        byte[] buffer = new byte[source.length + 4];
+        buffer[0] = (byte) (source.length >>> 24);
+        buffer[1] = (byte) (source.length >>> 16);
+        buffer[2] = (byte) (source.length >>> 8);
+        buffer[3] = (byte) source.length;
+        int length = 4;
+        while (!deflater.finished() && length < buffer.length) {
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        // 压缩后不小于原数据时放弃压缩
+        return deflater.finished() ? Arrays.copyOf(buffer, length) : source;
+    }
+
+    private static byte[] inflate(byte[] source, int offset) {
+        if (source.length < offset + 4) {
+            throw new SerializationException("压缩数据不完整");
+        }
+        int originalLength = ((source[offset] & 0xFF) << 24) | ((source[offset + 1] & 0xFF) << 16)
+                | ((source[offset + 2] & 0xFF) << 8) | (source[offset + 3] & 0xFF);
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(source, offset + 4, source.length - offset - 4);
+        byte[] result = new byte[originalLength];
+        try {
+            int length = 0;
+            while (length < originalLength && !inflater.finished()) {
+                int inflated = inflater.inflate(result, length, originalLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != originalLength) {
+                throw new SerializationException("压缩数据长度不匹配");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new SerializationException("解压失败", e);
+        }
+    }
+
+    /**
+     * 序列化格式
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum Format {
+
+        /**
+         * Jackson JSON（蛇形命名 + 类型信息）
+         */
+        JSON((byte) 1),
+
+        /**
+         * fastjson2 JSONB二进制
+         */
+        JSONB((byte) 2);
+
+        private final byte code;
+
+        public static Format of(byte code) {
+            for (Format format : values()) {
+                if (format.code == code) {
+                    return format;
+                }
+            }
+            throw new SerializationException("未知的Redis值格式: " + code);
+        }
+    }
+}
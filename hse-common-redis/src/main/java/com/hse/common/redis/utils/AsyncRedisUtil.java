@@ -0,0 +1,190 @@
+package com.hse.common.redis.utils;
+
+import com.hse.common.redis.cache.NearCache;
+import com.hse.common.redis.hotkey.HotKeyDetector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步Redis工具类
+ * 与 {@link RedisUtil} 接口一致，基于Lettuce非阻塞连接，返回 CompletableFuture，不占用调用线程
+ * 需要响应式编程时可直接注入 ReactiveRedisTemplate&lt;String, Object&gt;
+ *
+ * 注意：回调默认在Lettuce的IO线程执行，回调中不要做阻塞操作，必要时使用 thenApplyAsync 指定线程池
+ *
+ * @author HSE
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AsyncRedisUtil {
+
+    private static final ByteBuffer INVALIDATE_CHANNEL = ByteBuffer.wrap(NearCache.INVALIDATE_CHANNEL.getBytes(StandardCharsets.UTF_8));
+
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    /**
+     * 本地近端缓存（可选）
+     */
+    @Autowired(required = false)
+    private NearCache nearCache;
+
+    /**
+     * 热点key探测器（可选）
+     */
+    @Autowired(required = false)
+    private HotKeyDetector hotKeyDetector;
+
+    /**
+     * 设置缓存
+     */
+    public CompletableFuture<Boolean> set(String key, Object value) {
+        return invalidateAfter(key, reactiveRedisTemplate.opsForValue().set(key, value));
+    }
+
+    /**
+     * 设置缓存，带过期时间
+     */
+    public CompletableFuture<Boolean> set(String key, Object value, long timeout, TimeUnit unit) {
+        return invalidateAfter(key, reactiveRedisTemplate.opsForValue().set(key, value, toDuration(timeout, unit)));
+    }
+
+    /**
+     * 获取缓存
+     */
+    public CompletableFuture<Object> get(String key) {
+        if (nearCache == null || !nearCache.accepts(key)) {
+            return reactiveRedisTemplate.opsForValue().get(key).toFuture();
+        }
+        Object cached = nearCache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        // 同时读取PTTL（同一连接上连续发送），L1条目的TTL不超过Redis剩余过期时间
+        long stamp = nearCache.stamp();
+        ByteBuffer rawKey = ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+        Mono<Long> pttl = reactiveRedisTemplate.execute(connection -> connection.keyCommands().pTtl(rawKey)).next();
+        return Mono.zip(reactiveRedisTemplate.opsForValue().get(key), pttl)
+                .doOnNext(tuple -> nearCache.putWithPttl(key, tuple.getT1(), stamp, tuple.getT2()))
+                .<Object>map(Tuple2::getT1)
+                .toFuture();
+    }
+
+    /**
+     * 批量获取缓存，结果顺序与keys一致
+     */
+    public CompletableFuture<List<Object>> multiGet(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        return reactiveRedisTemplate.opsForValue().multiGet(new ArrayList<>(keys)).toFuture();
+    }
+
+    /**
+     * 删除缓存
+     */
+    public CompletableFuture<Boolean> delete(String key) {
+        return invalidateAfter(key, reactiveRedisTemplate.delete(key).map(count -> count > 0));
+    }
+
+    /**
+     * 判断key是否存在
+     */
+    public CompletableFuture<Boolean> hasKey(String key) {
+        return reactiveRedisTemplate.hasKey(key).toFuture();
+    }
+
+    /**
+     * 设置过期时间
+     */
+    public CompletableFuture<Boolean> expire(String key, long timeout, TimeUnit unit) {
+        return invalidateAfter(key, reactiveRedisTemplate.expire(key, toDuration(timeout, unit)));
+    }
+
+    /**
+     * 获取过期时间（秒），与 RedisUtil.getExpire 一致：-1 永不过期，-2 不存在
+     */
+    public CompletableFuture<Long> getExpire(String key) {
+        ByteBuffer rawKey = ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+        return reactiveRedisTemplate.execute(connection -> connection.keyCommands().ttl(rawKey))
+                .next()
+                .toFuture();
+    }
+
+    /**
+     * 递增
+     */
+    public CompletableFuture<Long> increment(String key) {
+        return invalidateAfter(key, reactiveRedisTemplate.opsForValue().increment(key));
+    }
+
+    /**
+     * 递增指定值
+     */
+    public CompletableFuture<Long> increment(String key, long delta) {
+        return invalidateAfter(key, reactiveRedisTemplate.opsForValue().increment(key, delta));
+    }
+
+    /**
+     * 递减
+     */
+    public CompletableFuture<Long> decrement(String key) {
+        return invalidateAfter(key, reactiveRedisTemplate.opsForValue().decrement(key));
+    }
+
+    /**
+     * 递减指定值
+     */
+    public CompletableFuture<Long> decrement(String key, long delta) {
+        return invalidateAfter(key, reactiveRedisTemplate.opsForValue().decrement(key, delta));
+    }
+
+    /**
+     * 写操作完成后失效本地热点副本及近端缓存，近端缓存以非阻塞方式广播
+     */
+    private <T> CompletableFuture<T> invalidateAfter(String key, Mono<T> operation) {
+        if (hotKeyDetector != null) {
+            operation = operation.doOnSuccess(result -> hotKeyDetector.invalidate(key));
+        }
+        if (nearCache == null || !nearCache.accepts(key)) {
+            return operation.toFuture();
+        }
+        return operation
+                .flatMap(result -> {
+                    nearCache.invalidateLocal(key);
+                    return publishInvalidation(key).thenReturn(result);
+                })
+                .toFuture();
+    }
+
+    private Mono<Long> publishInvalidation(String key) {
+        ByteBuffer payload = ByteBuffer.wrap(nearCache.invalidationPayload(key));
+        return reactiveRedisTemplate
+                .execute(connection -> connection.pubSubCommands().publish(INVALIDATE_CHANNEL.duplicate(), payload))
+                .next()
+                .onErrorResume(e -> {
+                    // 广播失败时其他节点依赖TTL兜底
+                    log.warn("近端缓存失效广播失败: {}", key, e);
+                    return Mono.just(0L);
+                });
+    }
+
+    private static Duration toDuration(long timeout, TimeUnit unit) {
+        return Duration.ofMillis(unit.toMillis(timeout));
+    }
+}
@@ -1,27 +1,71 @@
 package com.hse.common.redis.utils;
 
+import com.hse.common.redis.batch.GetCoalescer;
+import com.hse.common.redis.cache.NearCache;
+import com.hse.common.redis.hotkey.HotKeyDetector;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Redis工具类
+ * 开启近端缓存后，get优先读取本地L1，写操作会广播失效
+ * 开启请求合并后，并发的单key读取会合并为一次MGET
+ * 开启热点探测后，访问量超过阈值的key自动提升到短TTL本地缓存
  *
  * @author HSE
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class RedisUtil {
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    /**
+     * 本地近端缓存（可选）
+     */
+    @Autowired(required = false)
+    private NearCache nearCache;
+
+    /**
+     * GET请求合并器（可选）
+     */
+    @Autowired(required = false)
+    private GetCoalescer getCoalescer;
+
+    /**
+     * 热点key探测器（可选）
+     */
+    @Autowired(required = false)
+    private HotKeyDetector hotKeyDetector;
+
     /**
      * 设置缓存
      */
     public void set(String key, Object value) {
         redisTemplate.opsForValue().set(key, value);
+        invalidateNearCache(key);
     }
 
     /**
@@ -29,20 +73,68 @@ public class RedisUtil {
      */
     public void set(String key, Object value, long timeout, TimeUnit unit) {
         redisTemplate.opsForValue().set(key, value, timeout, unit);
+        invalidateNearCache(key);
     }
 
     /**
      * 获取缓存
      */
     public Object get(String key) {
-        return redisTemplate.opsForValue().get(key);
+        if (hotKeyDetector == null) {
+            return getFromNearCache(key);
+        }
+        boolean hot = hotKeyDetector.record(key);
+        if (hot) {
+            Object value = hotKeyDetector.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        long stamp = hotKeyDetector.stamp();
+        Object value = getFromNearCache(key);
+        if (hot) {
+            hotKeyDetector.promote(key, value, stamp);
+        }
+        return value;
+    }
+
+    /**
+     * 读取近端缓存，未开启或未命中时读取Redis
+     */
+    private Object getFromNearCache(String key) {
+        if (nearCache == null || !nearCache.accepts(key)) {
+            return load(key);
+        }
+        Object value = nearCache.get(key);
+        if (value != null) {
+            return value;
+        }
+        // 值与剩余过期时间在同一管道中读取（开启请求合并时随批次读取），L1条目不会比Redis中的key活得更久
+        long stamp = nearCache.stamp();
+        Long pttl;
+        if (getCoalescer != null) {
+            GetCoalescer.ValueWithPttl loaded = getCoalescer.getWithPttl(key);
+            value = loaded.getValue();
+            pttl = loaded.getPttl();
+        } else {
+            List<Object> results = pipeline(operations -> {
+                operations.opsForValue().get(key);
+                operations.getExpire(key, TimeUnit.MILLISECONDS);
+            });
+            value = results.get(0);
+            pttl = (Long) results.get(1);
+        }
+        nearCache.putWithPttl(key, value, stamp, pttl);
+        return value;
     }
 
     /**
      * 删除缓存
      */
     public Boolean delete(String key) {
-        return redisTemplate.delete(key);
+        Boolean result = redisTemplate.delete(key);
+        invalidateNearCache(key);
+        return result;
     }
 
     /**
@@ -56,7 +148,9 @@ public class RedisUtil {
      * 设置过期时间
      */
     public Boolean expire(String key, long timeout, TimeUnit unit) {
-        return redisTemplate.expire(key, timeout, unit);
+        Boolean result = redisTemplate.expire(key, timeout, unit);
+        invalidateNearCache(key);
+        return result;
     }
 
     /**
@@ -70,27 +164,284 @@ public class RedisUtil {
      * 递增
      */
     public Long increment(String key) {
-        return redisTemplate.opsForValue().increment(key);
+        Long result = redisTemplate.opsForValue().increment(key);
+        invalidateNearCache(key);
+        return result;
     }
 
     /**
      * 递增指定值
      */
     public Long increment(String key, long delta) {
-        return redisTemplate.opsForValue().increment(key, delta);
+        Long result = redisTemplate.opsForValue().increment(key, delta);
+        invalidateNearCache(key);
+        return result;
     }
 
     /**
      * 递减
      */
     public Long decrement(String key) {
-        return redisTemplate.opsForValue().decrement(key);
+        Long result = redisTemplate.opsForValue().decrement(key);
+        invalidateNearCache(key);
+        return result;
     }
 
     /**
      * 递减指定值
      */
     public Long decrement(String key, long delta) {
-        return redisTemplate.opsForValue().decrement(key, delta);
+        Long result = redisTemplate.opsForValue().decrement(key, delta);
+        invalidateNearCache(key);
+        return result;
+    }
+
+    // ==================== 批量操作 ====================
+
+    /**
+     * 批量获取缓存（MGET），结果顺序与keys一致，不存在的key对应null
+     */
+    public List<Object> multiGet(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> keyList = new ArrayList<>(keys);
+        if (nearCache == null) {
+            List<Object> values = redisTemplate.opsForValue().multiGet(keyList);
+            return values == null ? new ArrayList<>(Collections.nCopies(keyList.size(), null)) : values;
+        }
+        // 先读L1，仅对未命中的key发起MGET
+        List<Object> result = new ArrayList<>(keyList.size());
+        List<String> missKeys = new ArrayList<>();
+        List<Integer> missIndexes = new ArrayList<>();
+        for (int i = 0; i < keyList.size(); i++) {
+            String key = keyList.get(i);
+            Object value = nearCache.accepts(key) ? nearCache.get(key) : null;
+            result.add(value);
+            if (value == null) {
+                missKeys.add(key);
+                missIndexes.add(i);
+            }
+        }
+        if (missKeys.isEmpty()) {
+            return result;
+        }
+        // MGET与各key的PTTL在同一管道中读取，L1条目的TTL不超过Redis剩余过期时间
+        long stamp = nearCache.stamp();
+        List<Object> results = pipeline(operations -> {
+            operations.opsForValue().multiGet(missKeys);
+            missKeys.forEach(key -> operations.getExpire(key, TimeUnit.MILLISECONDS));
+        });
+        List<?> values = (List<?>) results.get(0);
+        for (int i = 0; i < missKeys.size(); i++) {
+            Object value = values == null ? null : values.get(i);
+            result.set(missIndexes.get(i), value);
+            if (nearCache.accepts(missKeys.get(i))) {
+                nearCache.putWithPttl(missKeys.get(i), value, stamp, (Long) results.get(i + 1));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量设置缓存（MSET）
+     */
+    public void multiSet(Map<String, Object> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForValue().multiSet(values);
+        invalidateNearCache(values.keySet());
+    }
+
+    /**
+     * 批量设置缓存，带过期时间（管道内逐个SET EX，一次往返）
+     */
+    public void multiSet(Map<String, Object> values, long timeout, TimeUnit unit) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        pipeline(operations -> values.forEach((key, value) -> operations.opsForValue().set(key, value, timeout, unit)));
+        invalidateNearCache(values.keySet());
+    }
+
+    /**
+     * 批量删除缓存
+     */
+    public Long multiDelete(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0L;
+        }
+        Long result = redisTemplate.delete(keys);
+        invalidateNearCache(keys);
+        return result;
+    }
+
+    /**
+     * 批量设置过期时间（管道），返回设置成功的key数量
+     */
+    public long multiExpire(Collection<String> keys, long timeout, TimeUnit unit) {
+        if (keys == null || keys.isEmpty()) {
+            return 0L;
+        }
+        List<Object> results = pipeline(operations -> keys.forEach(key -> operations.expire(key, timeout, unit)));
+        invalidateNearCache(keys);
+        return results.stream().filter(Boolean.TRUE::equals).count();
+    }
+
+    /**
+     * 管道执行多条命令，一次网络往返，返回各命令结果（已反序列化）
+     * 注意：管道内命令的返回值均为null，结果只能从返回列表中获取
+     */
+    public List<Object> pipeline(Consumer<RedisOperations<String, Object>> action) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                action.accept((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+    }
+
+    // ==================== 键遍历与批量清理 ====================
+
+    /**
+     * 按模式遍历key（SCAN），不阻塞Redis
+     * 返回的Cursor持有连接，使用完毕必须关闭（try-with-resources）
+     *
+     * @param pattern 匹配模式，如 user:*
+     * @param count   每次SCAN的COUNT提示值
+     */
+    public Cursor<String> scanCursor(String pattern, int count) {
+        return redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(count).build());
+    }
+
+    /**
+     * 按模式遍历key，惰性Stream，使用完毕必须关闭（try-with-resources）
+     * 遍历期间被修改的key可能重复或遗漏，符合SCAN语义
+     */
+    public Stream<String> scan(String pattern, int count) {
+        Cursor<String> cursor = scanCursor(pattern, count);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.NONNULL), false)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * 批量删除（UNLINK），内存在Redis后台线程回收
+     */
+    public Long unlink(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0L;
+        }
+        Long result = redisTemplate.unlink(keys);
+        invalidateNearCache(keys);
+        return result;
+    }
+
+    /**
+     * 按模式批量删除：SCAN遍历，按批UNLINK，批次之间暂停以免影响正常请求
+     *
+     * @param pattern     匹配模式
+     * @param count       每次SCAN的COUNT提示值
+     * @param batchSize   每次UNLINK的key数量，必须大于0
+     * @param pauseMillis 每批之间暂停的毫秒数，0表示不暂停
+     * @param progress    进度回调，参数为累计删除数量，可为null
+     * @return 删除的key数量
+     */
+    public long unlinkByPattern(String pattern, int count, int batchSize, long pauseMillis, LongConsumer progress) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize必须大于0: " + batchSize);
+        }
+        long deleted = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try {
+            try (Cursor<String> cursor = scanCursor(pattern, count)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() < batchSize) {
+                        continue;
+                    }
+                    deleted += unlinkBatch(batch, progress, deleted);
+                    if (pauseMillis > 0 && !pause(pauseMillis)) {
+                        log.warn("批量删除被中断: {}，已删除 {}", pattern, deleted);
+                        return deleted;
+                    }
+                }
+            }
+            // 最后一批不在finally中执行，遍历失败时不会掩盖原异常
+            if (!batch.isEmpty()) {
+                deleted += unlinkBatch(batch, progress, deleted);
+            }
+        } finally {
+            if (nearCache != null) {
+                nearCache.invalidateAll();
+            }
+        }
+        return deleted;
+    }
+
+    private long unlinkBatch(List<String> batch, LongConsumer progress, long deletedBefore) {
+        Long result = redisTemplate.unlink(batch);
+        if (hotKeyDetector != null) {
+            batch.forEach(hotKeyDetector::invalidate);
+        }
+        batch.clear();
+        long deleted = result == null ? 0L : result;
+        if (progress != null) {
+            progress.accept(deletedBefore + deleted);
+        }
+        return deleted;
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 从Redis读取，开启请求合并时走合并器
+     */
+    private Object load(String key) {
+        if (getCoalescer != null) {
+            return getCoalescer.get(key);
+        }
+        return redisTemplate.opsForValue().get(key);
+    }
+
+    /**
+     * 失效本地热点副本及近端缓存，近端缓存同时广播
+     */
+    private void invalidateNearCache(String key) {
+        if (hotKeyDetector != null) {
+            hotKeyDetector.invalidate(key);
+        }
+        if (nearCache != null && nearCache.accepts(key)) {
+            nearCache.invalidate(key);
+        }
+    }
+
+    /**
+     * 批量失效本地热点副本及近端缓存，近端缓存合并为一条广播
+     */
+    private void invalidateNearCache(Collection<String> keys) {
+        if (hotKeyDetector != null) {
+            keys.forEach(hotKeyDetector::invalidate);
+        }
+        if (nearCache == null) {
+            return;
+        }
+        List<String> acceptedKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (nearCache.accepts(key)) {
+                acceptedKeys.add(key);
+            }
+        }
+        nearCache.invalidate(acceptedKeys);
     }
-}
\ No newline at end of file
+}
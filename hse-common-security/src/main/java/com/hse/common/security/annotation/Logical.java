@@ -0,0 +1,19 @@
+package com.hse.common.security.annotation;
+
+/**
+ * 多个权限/角色码的组合方式
+ *
+ * @author HSE
+ */
+public enum Logical {
+
+    /**
+     * 全部满足
+     */
+    AND,
+
+    /**
+     * 满足任一
+     */
+    OR
+}
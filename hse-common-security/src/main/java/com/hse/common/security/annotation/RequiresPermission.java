@@ -0,0 +1,35 @@
+package com.hse.common.security.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 权限校验注解
+ * 未登录时抛出 ServiceException(MessageCode.UNAUTHORIZED)，权限不足时抛出 ServiceException(MessageCode.PERMISSION_DENIED)
+ *
+ * 示例：
+ * <pre>
+ * &#64;RequiresPermission("system:user:add")
+ * public void handle() { ... }
+ * </pre>
+ *
+ * @author HSE
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+
+    /**
+     * 权限码
+     */
+    String[] value();
+
+    /**
+     * 多个权限码的组合方式
+     */
+    Logical logical() default Logical.AND;
+}
@@ -0,0 +1,35 @@
+package com.hse.common.security.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 角色校验注解
+ * 未登录时抛出 ServiceException(MessageCode.UNAUTHORIZED)，角色不足时抛出 ServiceException(MessageCode.PERMISSION_DENIED)
+ *
+ * 示例：
+ * <pre>
+ * &#64;RequiresRole("admin")
+ * public void handle() { ... }
+ * </pre>
+ *
+ * @author HSE
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresRole {
+
+    /**
+     * 角色码
+     */
+    String[] value();
+
+    /**
+     * 多个角色码的组合方式
+     */
+    Logical logical() default Logical.AND;
+}
@@ -0,0 +1,102 @@
+package com.hse.common.security.aspect;
+
+import com.hse.common.core.constant.MessageCode;
+import com.hse.common.core.exception.ServiceException;
+import com.hse.common.security.annotation.Logical;
+import com.hse.common.security.annotation.RequiresPermission;
+import com.hse.common.security.annotation.RequiresRole;
+import com.hse.common.security.context.SecurityContextHolder;
+import com.hse.common.security.domain.LoginUser;
+import com.hse.common.security.permission.PermissionDictionary;
+import com.hse.common.security.permission.PermissionSet;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 权限校验切面
+ * 注解中的权限码按位图的字典纪元解析为位下标并缓存，之后每次校验只做位运算，不访问Redis或数据库
+ * 位图纪元与当前字典不一致（字典已重建）时下标含义已改变，按未登录处理，要求重新登录
+ *
+ * @author HSE
+ */
+@Aspect
+@RequiredArgsConstructor
+public class PermissionAspect {
+
+    private final PermissionDictionary permissionDictionary;
+
+    /**
+     * 注解 -> 位下标
+     */
+    private final Map<Object, Resolved> resolved = new ConcurrentHashMap<>();
+
+    @Before("@annotation(requiresPermission)")
+    public void checkPermission(RequiresPermission requiresPermission) {
+        LoginUser loginUser = requireLogin();
+        check(loginUser.getPermissions(), requiresPermission, requiresPermission.value(),
+                requiresPermission.logical(), true);
+    }
+
+    @Before("@annotation(requiresRole)")
+    public void checkRole(RequiresRole requiresRole) {
+        LoginUser loginUser = requireLogin();
+        check(loginUser.getRoles(), requiresRole, requiresRole.value(), requiresRole.logical(), false);
+    }
+
+    private static LoginUser requireLogin() {
+        LoginUser loginUser = SecurityContextHolder.getLoginUser();
+        if (loginUser == null) {
+            throw ServiceException.of(MessageCode.UNAUTHORIZED);
+        }
+        return loginUser;
+    }
+
+    private void check(PermissionSet granted, Object annotation, String[] codes, Logical logical, boolean permission) {
+        // 空位图不依赖字典，无需校验纪元
+        if (granted == null || granted.cardinality() == 0) {
+            throw ServiceException.of(MessageCode.PERMISSION_DENIED);
+        }
+        Resolved indexes = resolve(granted, annotation, codes, permission);
+        if (granted.contains(indexes.superIndex)) {
+            return;
+        }
+        boolean passed = logical == Logical.AND ? granted.containsAll(indexes.required)
+                : granted.containsAny(indexes.required);
+        if (!passed) {
+            throw ServiceException.of(MessageCode.PERMISSION_DENIED);
+        }
+    }
+
+    private Resolved resolve(PermissionSet granted, Object annotation, String[] codes, boolean permission) {
+        Resolved cached = resolved.get(annotation);
+        if (cached != null && cached.epoch == granted.getEpoch()) {
+            return cached;
+        }
+        int[] indexes = permission ? permissionDictionary.resolvePermissions(codes, granted)
+                : permissionDictionary.resolveRoles(codes, granted);
+        if (indexes == null) {
+            throw ServiceException.of(MessageCode.UNAUTHORIZED);
+        }
+        Resolved result = new Resolved(granted.getEpoch(), Arrays.copyOf(indexes, codes.length), indexes[codes.length]);
+        resolved.put(annotation, result);
+        return result;
+    }
+
+    /**
+     * 某一字典纪元下解析出的位下标
+     */
+    @RequiredArgsConstructor
+    private static final class Resolved {
+
+        private final long epoch;
+
+        private final int[] required;
+
+        private final int superIndex;
+    }
+}
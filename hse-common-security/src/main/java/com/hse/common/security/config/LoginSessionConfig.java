@@ -0,0 +1,62 @@
+package com.hse.common.security.config;
+
+import com.hse.common.redis.utils.RedisUtil;
+import com.hse.common.security.context.LoginUserContextPropagator;
+import com.hse.common.security.filter.AuthenticationFilter;
+import com.hse.common.security.session.LoginSessionService;
+import com.hse.common.security.utils.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录会话配置
+ * 开启方式：hse.security.session.enabled=true
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hse.security.session", name = "enabled", havingValue = "true")
+public class LoginSessionConfig {
+
+    /**
+     * 登录会话服务
+     */
+    @Bean
+    public LoginSessionService loginSessionService(RedisUtil redisUtil, JwtUtil jwtUtil,
+                                                   @Value("${hse.security.session.ttl-minutes:30}") long ttlMinutes,
+                                                   @Value("${hse.security.session.renew-interval-seconds:60}") long renewIntervalSeconds,
+                                                   @Value("${hse.security.session.local-ttl-millis:5000}") long localTtlMillis,
+                                                   @Value("${hse.security.session.local-maximum-size:10000}") long localMaximumSize) {
+        return new LoginSessionService(redisUtil, jwtUtil, TimeUnit.MINUTES.toMillis(ttlMinutes),
+                TimeUnit.SECONDS.toMillis(renewIntervalSeconds), localTtlMillis, localMaximumSize);
+    }
+
+    /**
+     * 认证过滤器，在Spring MVC拦截器之前执行
+     */
+    @Bean
+    public FilterRegistrationBean<AuthenticationFilter> authenticationFilter(JwtUtil jwtUtil,
+                                                                             LoginSessionService loginSessionService,
+                                                                             @Value("${hse.security.session.header:Authorization}") String header) {
+        FilterRegistrationBean<AuthenticationFilter> registration =
+                new FilterRegistrationBean<>(new AuthenticationFilter(jwtUtil, loginSessionService, header));
+        registration.addUrlPatterns("/*");
+        registration.setName("hseAuthenticationFilter");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+
+    /**
+     * 异步任务传递登录用户（hse.web.async.enabled=true 时生效）
+     */
+    @Bean
+    public LoginUserContextPropagator loginUserContextPropagator() {
+        return new LoginUserContextPropagator();
+    }
+}
@@ -0,0 +1,42 @@
+package com.hse.common.security.config;
+
+import com.hse.common.security.aspect.PermissionAspect;
+import com.hse.common.security.permission.PermissionDictionary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Arrays;
+
+/**
+ * 权限校验配置
+ * 开启方式：hse.security.permission.enabled=true，登录用户由 AuthenticationFilter 写入上下文
+ * 固定的角色、权限码建议配置为种子（hse.security.permission.seed-roles / seed-permissions），下标不依赖Redis
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hse.security.permission", name = "enabled", havingValue = "true")
+public class PermissionConfig {
+
+    /**
+     * 权限码字典
+     */
+    @Bean
+    public PermissionDictionary permissionDictionary(RedisTemplate<String, Object> redisTemplate,
+                                                     @Value("${hse.security.permission.seed-roles:}") String[] seedRoles,
+                                                     @Value("${hse.security.permission.seed-permissions:}") String[] seedPermissions,
+                                                     @Value("${hse.security.permission.reserved:" + PermissionDictionary.DEFAULT_RESERVED + "}") int reserved) {
+        return new PermissionDictionary(redisTemplate, Arrays.asList(seedRoles), Arrays.asList(seedPermissions), reserved);
+    }
+
+    /**
+     * 权限校验切面
+     */
+    @Bean
+    public PermissionAspect permissionAspect(PermissionDictionary permissionDictionary) {
+        return new PermissionAspect(permissionDictionary);
+    }
+}
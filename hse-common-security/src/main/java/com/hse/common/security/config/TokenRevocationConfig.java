@@ -0,0 +1,48 @@
+package com.hse.common.security.config;
+
+import com.hse.common.redis.utils.RedisUtil;
+import com.hse.common.security.token.TokenRevocationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Token吊销配置
+ * 开启方式：jwt.revocation.enabled=true
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", havingValue = "true")
+public class TokenRevocationConfig {
+
+    /**
+     * Token吊销服务
+     */
+    @Bean
+    public TokenRevocationService tokenRevocationService(RedisUtil redisUtil, RedisTemplate<String, Object> redisTemplate,
+                                                         @Value("${jwt.revocation.resync-interval-seconds:60}") long resyncIntervalSeconds) {
+        return new TokenRevocationService(redisUtil, redisTemplate, resyncIntervalSeconds);
+    }
+
+    /**
+     * 订阅吊销广播
+     */
+    @Bean
+    public RedisMessageListenerContainer tokenRevocationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          TokenRevocationService tokenRevocationService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> tokenRevocationService.onRevoked(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(TokenRevocationService.REVOKE_CHANNEL));
+        return container;
+    }
+}
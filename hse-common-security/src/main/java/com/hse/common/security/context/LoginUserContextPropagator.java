@@ -0,0 +1,29 @@
+package com.hse.common.security.context;
+
+import com.hse.common.core.context.ContextPropagator;
+import com.hse.common.security.domain.LoginUser;
+
+/**
+ * 传递当前登录用户（SecurityContextHolder），异步线程中可获取登录用户
+ *
+ * @author HSE
+ */
+public class LoginUserContextPropagator implements ContextPropagator {
+
+    @Override
+    public Object capture() {
+        return SecurityContextHolder.getLoginUser();
+    }
+
+    @Override
+    public Object apply(Object captured) {
+        LoginUser previous = SecurityContextHolder.getLoginUser();
+        SecurityContextHolder.setLoginUser((LoginUser) captured);
+        return previous;
+    }
+
+    @Override
+    public void restore(Object previous) {
+        SecurityContextHolder.setLoginUser((LoginUser) previous);
+    }
+}
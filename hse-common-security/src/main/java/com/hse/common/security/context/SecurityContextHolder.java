@@ -0,0 +1,58 @@
+package com.hse.common.security.context;
+
+import com.hse.common.security.domain.LoginUser;
+
+/**
+ * 当前请求登录用户上下文
+ * 由 AuthenticationFilter 在请求开始时写入、结束时清除，未登录时为null
+ *
+ * @author HSE
+ */
+public final class SecurityContextHolder {
+
+    private static final ThreadLocal<LoginUser> CONTEXT = new ThreadLocal<>();
+
+    private SecurityContextHolder() {
+    }
+
+    /**
+     * 获取当前登录用户，未登录时返回null
+     */
+    public static LoginUser getLoginUser() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * 获取当前登录用户ID，未登录时返回null
+     */
+    public static Long getUserId() {
+        LoginUser loginUser = CONTEXT.get();
+        return loginUser == null ? null : loginUser.getUserId();
+    }
+
+    /**
+     * 获取当前登录用户名，未登录时返回null
+     */
+    public static String getUsername() {
+        LoginUser loginUser = CONTEXT.get();
+        return loginUser == null ? null : loginUser.getUsername();
+    }
+
+    /**
+     * 设置当前登录用户
+     */
+    public static void setLoginUser(LoginUser loginUser) {
+        if (loginUser == null) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(loginUser);
+        }
+    }
+
+    /**
+     * 清除上下文
+     */
+    public static void clear() {
+        CONTEXT.remove();
+    }
+}
@@ -1,5 +1,6 @@
 package com.hse.common.security.domain;
 
+import com.hse.common.security.permission.PermissionSet;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -38,4 +39,14 @@ public class LoginUser implements Serializable {
      * 过期时间
      */
     private Long expireTime;
+
+    /**
+     * 角色位图（PermissionDictionary.encodeRoles）
+     */
+    private PermissionSet roles;
+
+    /**
+     * 权限位图（PermissionDictionary.encodePermissions）
+     */
+    private PermissionSet permissions;
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.hse.common.security.filter;
+
+import com.hse.common.security.context.SecurityContextHolder;
+import com.hse.common.security.domain.LoginUser;
+import com.hse.common.security.session.LoginSessionService;
+import com.hse.common.security.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 认证过滤器
+ * 每个请求解析一次Token并加载会话，写入 SecurityContextHolder，请求结束时清除；
+ * Token无效或会话不存在时按匿名请求放行，是否要求登录由后续权限校验决定
+ *
+ * @author HSE
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AuthenticationFilter extends OncePerRequestFilter {
+
+    /**
+     * 登录用户ID的请求属性名，与 RateLimitInterceptor.USER_ID_ATTRIBUTE 一致，用于按用户限流
+     */
+    public static final String USER_ID_ATTRIBUTE = "HSE_USER_ID";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    private final LoginSessionService loginSessionService;
+
+    /**
+     * Token请求头名称
+     */
+    private final String header;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = resolveToken(request);
+        if (token != null) {
+            authenticate(request, token);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clear();
+        }
+    }
+
+    private void authenticate(HttpServletRequest request, String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseToken(token);
+        } catch (Exception e) {
+            log.debug("Token无效: {}", e.getMessage());
+            return;
+        }
+        LoginUser loginUser = loginSessionService.getSession(claims.getId());
+        if (loginUser == null) {
+            return;
+        }
+        SecurityContextHolder.setLoginUser(loginUser);
+        request.setAttribute(USER_ID_ATTRIBUTE, loginUser.getUserId());
+        loginSessionService.touch(claims.getId());
+    }
+
+    private String resolveToken(HttpServletRequest request) {
+        String value = request.getHeader(header);
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        return value.startsWith(BEARER_PREFIX) ? value.substring(BEARER_PREFIX.length()).trim() : value.trim();
+    }
+}
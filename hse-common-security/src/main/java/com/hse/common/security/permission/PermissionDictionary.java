@@ -0,0 +1,373 @@
+package com.hse.common.security.permission;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 权限码字典
+ * 为角色码和权限码分配全局唯一的位下标，本地缓存后不再访问Redis
+ *
+ * - 种子权限码（配置中的列表）：下标为在列表中的位置，不依赖Redis，列表只能在末尾追加
+ * - 其余权限码：下标由Redis哈希分配，从保留的种子下标之后开始，只增不减，删除的权限码不会回收下标
+ *
+ * Redis哈希丢失（flush、淘汰）后会以新的纪元重建，下标重新分配。位图中记录生成时的纪元（由Redis纪元和种子列表共同决定），
+ * 与当前纪元不一致的位图视为失效，不能用于校验，用户需要重新登录。
+ * 字典key（security:dict:*）没有过期时间，Redis应开启持久化并使用不淘汰该key的策略，否则重建会使所有已登录用户失效
+ *
+ * @author HSE
+ */
+@Slf4j
+public class PermissionDictionary {
+
+    /**
+     * 超级权限码，拥有该权限时通过所有权限校验
+     */
+    public static final String ALL_PERMISSION = "*:*:*";
+
+    /**
+     * 超级角色码，拥有该角色时通过所有角色校验
+     */
+    public static final String SUPER_ROLE = "admin";
+
+    /**
+     * 默认保留给种子权限码的下标数（一个long）
+     */
+    public static final int DEFAULT_RESERVED = 64;
+
+    private static final String KEY_PREFIX = "security:dict:";
+
+    private static final String FIELD_EPOCH = "@epoch";
+
+    private static final String FIELD_RESERVED = "@reserved";
+
+    /**
+     * 位图纪元未知时重新加载字典的最小间隔，避免大量旧Token反复访问Redis
+     */
+    private static final long REFRESH_INTERVAL_MILLIS = 1000;
+
+    /**
+     * 编码过程中字典重建时的最大重试次数
+     */
+    private static final int MAX_ENCODE_ATTEMPTS = 3;
+
+    private static final RedisSerializer<String> ARGS_SERIALIZER = StringRedisSerializer.UTF_8;
+
+    /**
+     * 脚本返回多条结果时逐条反序列化为字符串
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisSerializer<List> RESULT_SERIALIZER = (RedisSerializer) StringRedisSerializer.UTF_8;
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> LOAD_SCRIPT = script("lua/permission_dictionary_load.lua");
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> INTERN_SCRIPT = script("lua/permission_dictionary_intern.lua");
+
+    private final Dictionary roles;
+
+    private final Dictionary permissions;
+
+    public PermissionDictionary(RedisTemplate<String, Object> redisTemplate) {
+        this(redisTemplate, Collections.emptyList(), Collections.emptyList(), DEFAULT_RESERVED);
+    }
+
+    /**
+     * @param roleSeeds       种子角色码
+     * @param permissionSeeds 种子权限码
+     * @param reserved        新建Redis字典时保留给种子权限码的下标数，不能小于种子数量
+     */
+    public PermissionDictionary(RedisTemplate<String, Object> redisTemplate, List<String> roleSeeds,
+                                List<String> permissionSeeds, int reserved) {
+        this.roles = new Dictionary(redisTemplate, KEY_PREFIX + "role", roleSeeds, reserved);
+        this.permissions = new Dictionary(redisTemplate, KEY_PREFIX + "permission", permissionSeeds, reserved);
+    }
+
+    /**
+     * 将权限码编码为位图（如登录时从数据库查询的权限列表），位图携带当前字典纪元
+     */
+    public PermissionSet encodePermissions(Collection<String> codes) {
+        return permissions.encode(codes);
+    }
+
+    /**
+     * 将角色码编码为位图
+     */
+    public PermissionSet encodeRoles(Collection<String> codes) {
+        return roles.encode(codes);
+    }
+
+    /**
+     * 按权限位图的纪元解析权限码的位下标，最后一个元素为超级权限的下标
+     *
+     * @return 位图纪元已失效时返回null
+     */
+    public int[] resolvePermissions(String[] codes, PermissionSet granted) {
+        return permissions.resolve(codes, ALL_PERMISSION, granted.getEpoch());
+    }
+
+    /**
+     * 按角色位图的纪元解析角色码的位下标，最后一个元素为超级角色的下标
+     *
+     * @return 位图纪元已失效时返回null
+     */
+    public int[] resolveRoles(String[] codes, PermissionSet granted) {
+        return roles.resolve(codes, SUPER_ROLE, granted.getEpoch());
+    }
+
+    /**
+     * 位图还原为权限码，位图纪元已失效时返回空集合
+     */
+    public Set<String> decodePermissions(PermissionSet set) {
+        return permissions.decode(set);
+    }
+
+    /**
+     * 位图还原为角色码，位图纪元已失效时返回空集合
+     */
+    public Set<String> decodeRoles(PermissionSet set) {
+        return roles.decode(set);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static DefaultRedisScript<List> script(String path) {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType(List.class);
+        return script;
+    }
+
+    /**
+     * 某一纪元下的字典内容，纪元改变时整体替换
+     */
+    private static final class Snapshot {
+
+        private final long redisEpoch;
+
+        /**
+         * 位图纪元：Redis纪元与种子列表共同决定
+         */
+        private final long epoch;
+
+        private final ConcurrentMap<String, Integer> indexes = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<Integer, String> codes = new ConcurrentHashMap<>();
+
+        private Snapshot(long redisEpoch, long epoch) {
+            this.redisEpoch = redisEpoch;
+            this.epoch = epoch;
+        }
+
+        private void put(String code, int index) {
+            indexes.put(code, index);
+            codes.put(index, code);
+        }
+    }
+
+    /**
+     * 单个命名空间：Redis哈希 {key} 保存 码 -> 下标，以及 @epoch（纪元）、@reserved（保留下标数）、@seq（下标序列）
+     */
+    private static final class Dictionary {
+
+        private final RedisTemplate<String, Object> redisTemplate;
+
+        private final String key;
+
+        private final List<String> seeds;
+
+        private final int seedsHash;
+
+        private final int reserved;
+
+        private volatile Snapshot snapshot;
+
+        private volatile long lastRefresh;
+
+        private Dictionary(RedisTemplate<String, Object> redisTemplate, String key, List<String> seeds, int reserved) {
+            if (seeds.size() > reserved) {
+                throw new IllegalArgumentException(key + " 的种子数量 " + seeds.size() + " 超过保留下标数 " + reserved);
+            }
+            if (new HashSet<>(seeds).size() != seeds.size()) {
+                throw new IllegalArgumentException(key + " 的种子中存在重复: " + seeds);
+            }
+            for (String seed : seeds) {
+                checkCode(seed);
+            }
+            this.redisTemplate = redisTemplate;
+            this.key = key;
+            this.seeds = Collections.unmodifiableList(seeds);
+            this.seedsHash = seeds.hashCode();
+            this.reserved = reserved;
+        }
+
+        PermissionSet encode(Collection<String> values) {
+            for (int attempt = 0; attempt < MAX_ENCODE_ATTEMPTS; attempt++) {
+                Snapshot current = current();
+                int[] result = new int[values == null ? 0 : values.size()];
+                int i = 0;
+                if (values != null) {
+                    for (String value : values) {
+                        int index = intern(current, value);
+                        if (index < 0) {
+                            break;
+                        }
+                        result[i++] = index;
+                    }
+                }
+                if (i == result.length) {
+                    return PermissionSet.of(result).withEpoch(current.epoch).intern();
+                }
+            }
+            throw new IllegalStateException(key + " 权限字典在编码过程中反复重建");
+        }
+
+        int[] resolve(String[] values, String superCode, long epoch) {
+            Snapshot current = matching(epoch);
+            if (current == null) {
+                return null;
+            }
+            int[] result = new int[values.length + 1];
+            for (int i = 0; i <= values.length; i++) {
+                result[i] = intern(current, i < values.length ? values[i] : superCode);
+                if (result[i] < 0) {
+                    return null;
+                }
+            }
+            return result;
+        }
+
+        Set<String> decode(PermissionSet set) {
+            Set<String> result = new LinkedHashSet<>();
+            Snapshot current = set == null ? null : matching(set.getEpoch());
+            if (current == null) {
+                return result;
+            }
+            for (int index : set.indexes()) {
+                String code = current.codes.get(index);
+                if (code == null) {
+                    Snapshot loaded = load();
+                    if (loaded.epoch == current.epoch) {
+                        current = loaded;
+                        code = current.codes.get(index);
+                    }
+                }
+                if (code != null) {
+                    result.add(code);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * 在指定纪元下分配下标，Redis字典已重建（纪元改变）时返回-1
+         */
+        private int intern(Snapshot current, String code) {
+            Integer index = current.indexes.get(code);
+            if (index != null) {
+                return index;
+            }
+            checkCode(code);
+            List<?> result = redisTemplate.execute(INTERN_SCRIPT, ARGS_SERIALIZER, RESULT_SERIALIZER,
+                    Collections.singletonList(key), code, newEpoch(), String.valueOf(reserved));
+            if (result == null || result.size() != 3) {
+                throw new IllegalStateException(key + " 权限下标分配失败: " + code);
+            }
+            if (Long.parseLong((String) result.get(0)) != current.redisEpoch) {
+                load();
+                return -1;
+            }
+            int allocated = Integer.parseInt((String) result.get(2));
+            current.put(code, allocated);
+            log.debug("权限下标: {} -> {}", code, allocated);
+            return allocated;
+        }
+
+        /**
+         * 与位图纪元一致的字典，本地纪元不同时（可能其他节点已发现字典重建）限频重新加载
+         */
+        private Snapshot matching(long epoch) {
+            Snapshot current = current();
+            if (current.epoch == epoch) {
+                return current;
+            }
+            if (epoch == 0 || System.currentTimeMillis() - lastRefresh < REFRESH_INTERVAL_MILLIS) {
+                return null;
+            }
+            current = load();
+            return current.epoch == epoch ? current : null;
+        }
+
+        private Snapshot current() {
+            Snapshot current = snapshot;
+            return current != null ? current : load();
+        }
+
+        private synchronized Snapshot load() {
+            List<?> entries = redisTemplate.execute(LOAD_SCRIPT, ARGS_SERIALIZER, RESULT_SERIALIZER,
+                    Collections.singletonList(key), newEpoch(), String.valueOf(reserved));
+            if (entries == null) {
+                throw new IllegalStateException(key + " 权限字典加载失败");
+            }
+            long redisEpoch = 0;
+            int redisReserved = 0;
+            for (int i = 0; i + 1 < entries.size(); i += 2) {
+                String field = (String) entries.get(i);
+                String value = (String) entries.get(i + 1);
+                if (FIELD_EPOCH.equals(field)) {
+                    redisEpoch = Long.parseLong(value);
+                } else if (FIELD_RESERVED.equals(field)) {
+                    redisReserved = Integer.parseInt(value);
+                }
+            }
+            if (seeds.size() > redisReserved) {
+                throw new IllegalStateException(key + " 的种子数量 " + seeds.size() + " 超过Redis字典保留的下标数 "
+                        + redisReserved + "，需要删除该key重建字典");
+            }
+            Snapshot current = snapshot;
+            if (current == null || current.redisEpoch != redisEpoch) {
+                if (current != null) {
+                    log.warn("权限字典 {} 已重建，之前签发的权限位图全部失效", key);
+                }
+                long epoch = (redisEpoch * 31 + seedsHash) & Long.MAX_VALUE;
+                current = new Snapshot(redisEpoch, epoch == 0 ? 1 : epoch);
+            }
+            for (int i = 0; i + 1 < entries.size(); i += 2) {
+                String field = (String) entries.get(i);
+                if (!field.startsWith("@")) {
+                    current.put(field, Integer.parseInt((String) entries.get(i + 1)));
+                }
+            }
+            // 种子下标以配置为准
+            for (int i = 0; i < seeds.size(); i++) {
+                current.put(seeds.get(i), i);
+            }
+            snapshot = current;
+            lastRefresh = System.currentTimeMillis();
+            return current;
+        }
+
+        private static String newEpoch() {
+            return String.valueOf(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE));
+        }
+
+        private static void checkCode(String code) {
+            if (code == null || code.isEmpty() || code.startsWith("@")) {
+                throw new IllegalArgumentException("非法的权限码: " + code);
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.hse.common.security.permission;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 权限/角色位图（不可变）
+ * 每个权限码由 PermissionDictionary 分配全局唯一下标，判断是否拥有权限只需一次位运算
+ *
+ * 编码格式（用于Token声明及Redis会话）：[字典纪元（36进制）.] 前缀 + Base64URL
+ * - r：原始字节（小端，去除末尾全0字节）
+ * - z：deflate压缩后的字节，原始字节超过 {@link #COMPRESS_THRESHOLD} 且压缩后更小时使用
+ *
+ * 字典纪元标识生成位图时下标与权限码的对应关系，字典重建后纪元改变，旧位图不再被接受
+ *
+ * 相同内容的实例可通过 {@link #intern()} 共享，大量会话拥有相同角色时只保留一份
+ *
+ * @author HSE
+ */
+public final class PermissionSet implements Serializable {
+
+    private static final long serialVersionUID = 2L;
+
+    public static final PermissionSet EMPTY = new PermissionSet(new long[0], 0);
+
+    private static final int COMPRESS_THRESHOLD = 64;
+
+    private static final char RAW = 'r';
+
+    private static final char DEFLATE = 'z';
+
+    private static final char EPOCH_SEPARATOR = '.';
+
+    /**
+     * 共享实例池，不同的权限组合通常有限，按容量淘汰
+     */
+    private static final Cache<PermissionSet, PermissionSet> INTERNED = Caffeine.newBuilder().maximumSize(10000).build();
+
+    private final long[] words;
+
+    /**
+     * 生成位图时的字典纪元，0表示未指定
+     */
+    private final long epoch;
+
+    private PermissionSet(long[] words, long epoch) {
+        this.words = words;
+        this.epoch = epoch;
+    }
+
+    /**
+     * 根据下标创建
+     */
+    public static PermissionSet of(int... indexes) {
+        int max = -1;
+        for (int index : indexes) {
+            if (index < 0) {
+                throw new IllegalArgumentException("权限下标不能为负数: " + index);
+            }
+            max = Math.max(max, index);
+        }
+        if (max < 0) {
+            return EMPTY;
+        }
+        long[] words = new long[(max >>> 6) + 1];
+        for (int index : indexes) {
+            words[index >>> 6] |= 1L << index;
+        }
+        return new PermissionSet(words, 0);
+    }
+
+    /**
+     * 返回指定字典纪元的位图，下标不变
+     */
+    public PermissionSet withEpoch(long epoch) {
+        if (epoch < 0) {
+            throw new IllegalArgumentException("字典纪元不能为负数: " + epoch);
+        }
+        return epoch == this.epoch ? this : new PermissionSet(words, epoch);
+    }
+
+    /**
+     * 生成位图时的字典纪元，0表示未指定
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * 是否包含指定下标
+     */
+    public boolean contains(int index) {
+        int wordIndex = index >>> 6;
+        return index >= 0 && wordIndex < words.length && (words[wordIndex] & (1L << index)) != 0;
+    }
+
+    /**
+     * 是否包含全部下标
+     */
+    public boolean containsAll(int[] indexes) {
+        for (int index : indexes) {
+            if (!contains(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 是否包含任一下标
+     */
+    public boolean containsAny(int[] indexes) {
+        for (int index : indexes) {
+            if (contains(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 全部下标，升序
+     */
+    public int[] indexes() {
+        int[] result = new int[cardinality()];
+        int i = 0;
+        for (int wordIndex = 0; wordIndex < words.length; wordIndex++) {
+            long word = words[wordIndex];
+            while (word != 0) {
+                result[i++] = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 包含的下标数量
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * 返回内容相同的共享实例
+     */
+    public PermissionSet intern() {
+        return words.length == 0 && epoch == 0 ? EMPTY : INTERNED.get(this, k -> k);
+    }
+
+    /**
+     * 编码为紧凑字符串
+     */
+    @JsonValue
+    public String encode() {
+        String prefix = epoch == 0 ? "" : Long.toString(epoch, 36) + EPOCH_SEPARATOR;
+        byte[] bytes = toBytes();
+        if (bytes.length > COMPRESS_THRESHOLD) {
+            byte[] compressed = deflate(bytes);
+            if (compressed.length < bytes.length) {
+                return prefix + DEFLATE + Base64.getUrlEncoder().withoutPadding().encodeToString(compressed);
+            }
+        }
+        return prefix + RAW + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * 从 {@link #encode()} 的结果解码（已共享），空字符串返回 {@link #EMPTY}
+     */
+    @JsonCreator
+    public static PermissionSet decode(String value) {
+        if (value == null || value.isEmpty()) {
+            return EMPTY;
+        }
+        long epoch = 0;
+        int start = value.indexOf(EPOCH_SEPARATOR) + 1;
+        if (start > 0) {
+            try {
+                epoch = Long.parseLong(value.substring(0, start - 1), 36);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("无法识别的权限编码: " + value, e);
+            }
+        }
+        if (start >= value.length() || epoch < 0) {
+            throw new IllegalArgumentException("无法识别的权限编码: " + value);
+        }
+        byte[] bytes = Base64.getUrlDecoder().decode(value.substring(start + 1));
+        if (value.charAt(start) == DEFLATE) {
+            bytes = inflate(bytes);
+        } else if (value.charAt(start) != RAW) {
+            throw new IllegalArgumentException("无法识别的权限编码: " + value);
+        }
+        long[] words = new long[(bytes.length + 7) / 8];
+        for (int i = 0; i < bytes.length; i++) {
+            words[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) * 8);
+        }
+        return new PermissionSet(words, epoch).intern();
+    }
+
+    private byte[] toBytes() {
+        int length = words.length * 8;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) * 8));
+        }
+        while (length > 0 && bytes[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+
+    private static byte[] deflate(byte[] source) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(source);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(source.length);
+            byte[] buffer = new byte[256];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] source) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(source);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(source.length * 4);
+            byte[] buffer = new byte[256];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("权限编码数据不完整");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("权限编码解压失败", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PermissionSet)) {
+            return false;
+        }
+        PermissionSet other = (PermissionSet) o;
+        return epoch == other.epoch && Arrays.equals(trimmed(words), trimmed(other.words));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(epoch) + Arrays.hashCode(trimmed(words));
+    }
+
+    @Override
+    public String toString() {
+        return epoch == 0 ? Arrays.toString(indexes()) : Long.toString(epoch, 36) + EPOCH_SEPARATOR + Arrays.toString(indexes());
+    }
+
+    private static long[] trimmed(long[] words) {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return length == words.length ? words : Arrays.copyOf(words, length);
+    }
+}
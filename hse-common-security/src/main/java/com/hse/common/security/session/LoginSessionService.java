@@ -0,0 +1,207 @@
+package com.hse.common.security.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hse.common.redis.utils.RedisUtil;
+import com.hse.common.security.domain.LoginUser;
+import com.hse.common.security.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录会话服务
+ * 会话以Token的jti为ID保存在Redis（login:session:{jti}），读取时先查短TTL的本地缓存
+ *
+ * 滑动过期：每个会话在续期间隔内最多续期一次，续期请求先放入待续期集合，由后台线程合并为一次批量EXPIRE，
+ * 请求线程不等待Redis（续期只刷新Redis过期时间，不更新会话中的expireTime）。注销时本地缓存最多延迟 localTtl 在其他节点失效，开启Token吊销后注销立即生效
+ *
+ * @author HSE
+ */
+@Slf4j
+public class LoginSessionService implements DisposableBean {
+
+    private static final String KEY_PREFIX = "login:session:";
+
+    private final RedisUtil redisUtil;
+
+    private final JwtUtil jwtUtil;
+
+    /**
+     * 会话有效期（毫秒）
+     */
+    private final long ttlMillis;
+
+    private final Cache<String, LoginUser> localCache;
+
+    /**
+     * 续期间隔内已续期的会话，条目存在即表示无需再次续期
+     */
+    private final Cache<String, Boolean> renewed;
+
+    private final Set<String> pendingRenewals = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param ttlMillis          会话有效期（毫秒）
+     * @param renewIntervalMillis 续期间隔（毫秒）
+     * @param localTtlMillis     本地缓存时间（毫秒），小于等于0表示不使用本地缓存
+     * @param localMaximumSize   本地缓存最大条目数
+     */
+    public LoginSessionService(RedisUtil redisUtil, JwtUtil jwtUtil, long ttlMillis, long renewIntervalMillis,
+                               long localTtlMillis, long localMaximumSize) {
+        this.redisUtil = redisUtil;
+        this.jwtUtil = jwtUtil;
+        this.ttlMillis = ttlMillis;
+        this.localCache = localTtlMillis > 0
+                ? Caffeine.newBuilder().maximumSize(localMaximumSize).expireAfterWrite(localTtlMillis, TimeUnit.MILLISECONDS).build()
+                : null;
+        this.renewed = Caffeine.newBuilder()
+                .expireAfterWrite(renewIntervalMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hse-session-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flushMillis = Math.max(100, Math.min(1000, renewIntervalMillis));
+        this.scheduler.scheduleWithFixedDelay(this::flushRenewalsQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 登录：签发Token并保存会话，返回Token
+     */
+    public String login(LoginUser loginUser) {
+        String token = jwtUtil.generateToken(loginUser);
+        long now = System.currentTimeMillis();
+        loginUser.setToken(token);
+        loginUser.setLoginTime(now);
+        loginUser.setExpireTime(now + ttlMillis);
+        String sessionId = jwtUtil.parseToken(token).getId();
+        redisUtil.set(KEY_PREFIX + sessionId, loginUser, ttlMillis, TimeUnit.MILLISECONDS);
+        renewed.put(sessionId, Boolean.TRUE);
+        return token;
+    }
+
+    /**
+     * 根据Token获取会话，Token无效或会话不存在时返回null
+     */
+    public LoginUser getLoginUser(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseToken(token);
+        } catch (Exception e) {
+            return null;
+        }
+        return getSession(claims.getId());
+    }
+
+    /**
+     * 根据会话ID（Token的jti）获取会话，不存在时返回null
+     */
+    public LoginUser getSession(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        if (localCache == null) {
+            return load(sessionId);
+        }
+        LoginUser loginUser = localCache.getIfPresent(sessionId);
+        if (loginUser == null) {
+            loginUser = load(sessionId);
+            if (loginUser != null) {
+                localCache.put(sessionId, loginUser);
+            }
+        }
+        return loginUser;
+    }
+
+    /**
+     * 更新会话内容（如修改用户信息后）
+     */
+    public void refresh(String sessionId, LoginUser loginUser) {
+        loginUser.setExpireTime(System.currentTimeMillis() + ttlMillis);
+        redisUtil.set(KEY_PREFIX + sessionId, loginUser, ttlMillis, TimeUnit.MILLISECONDS);
+        if (localCache != null) {
+            localCache.invalidate(sessionId);
+        }
+        renewed.put(sessionId, Boolean.TRUE);
+    }
+
+    /**
+     * 滑动续期：续期间隔内只登记一次，由后台线程批量执行EXPIRE
+     */
+    public void touch(String sessionId) {
+        if (renewed.asMap().putIfAbsent(sessionId, Boolean.TRUE) == null) {
+            pendingRenewals.add(sessionId);
+        }
+    }
+
+    /**
+     * 注销：删除会话，开启Token吊销时同时吊销Token
+     */
+    public void logout(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseToken(token);
+        } catch (Exception e) {
+            return;
+        }
+        String sessionId = claims.getId();
+        redisUtil.delete(KEY_PREFIX + sessionId);
+        if (localCache != null) {
+            localCache.invalidate(sessionId);
+        }
+        renewed.invalidate(sessionId);
+        pendingRenewals.remove(sessionId);
+        if (jwtUtil.isRevocationEnabled()) {
+            jwtUtil.revokeToken(token);
+        }
+    }
+
+    private LoginUser load(String sessionId) {
+        Object value = redisUtil.get(KEY_PREFIX + sessionId);
+        return value instanceof LoginUser ? (LoginUser) value : null;
+    }
+
+    /**
+     * 合并执行待续期会话的EXPIRE
+     */
+    private void flushRenewals() {
+        if (pendingRenewals.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(pendingRenewals.size());
+        for (String sessionId : pendingRenewals) {
+            if (pendingRenewals.remove(sessionId)) {
+                keys.add(KEY_PREFIX + sessionId);
+            }
+        }
+        if (!keys.isEmpty()) {
+            redisUtil.multiExpire(keys, ttlMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushRenewalsQuietly() {
+        try {
+            flushRenewals();
+        } catch (Exception e) {
+            log.warn("会话续期失败", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        flushRenewalsQuietly();
+    }
+}
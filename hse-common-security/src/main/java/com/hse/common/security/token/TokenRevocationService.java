@@ -0,0 +1,210 @@
+package com.hse.common.security.token;
+
+import com.hse.common.redis.utils.RedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Token吊销服务
+ * 吊销的jti写入Redis（过期时间 = Token剩余有效期），并通过发布订阅同步到各节点的本地集合
+ *
+ * 校验时先查本地集合，未命中（绝大多数请求）直接判定未吊销，不产生网络IO；
+ * 本地命中时再查Redis确认，Redis中已过期则移除本地记录。
+ * 定时SCAN全量同步，修复丢失的广播及节点启动前的吊销记录
+ *
+ * @author HSE
+ */
+@Slf4j
+public class TokenRevocationService implements DisposableBean {
+
+    /**
+     * 吊销广播频道
+     */
+    public static final String REVOKE_CHANNEL = "hse:token:revoked";
+
+    private static final byte[] REVOKE_CHANNEL_BYTES = REVOKE_CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    private static final String KEY_PREFIX = "token:revoked:";
+
+    private static final char PAYLOAD_SEPARATOR = '|';
+
+    private static final int SCAN_COUNT = 1000;
+
+    private final RedisUtil redisUtil;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 本地镜像：jti -> Token过期时间（毫秒）
+     */
+    private volatile ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param resyncIntervalSeconds 定时全量同步间隔（秒）
+     */
+    public TokenRevocationService(RedisUtil redisUtil, RedisTemplate<String, Object> redisTemplate,
+                                  long resyncIntervalSeconds) {
+        this.redisUtil = redisUtil;
+        this.redisTemplate = redisTemplate;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hse-token-revocation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::resyncQuietly, 0, Math.max(1, resyncIntervalSeconds),
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * 吊销Token，已过期的Token无需吊销
+     *
+     * @param jti      Token ID
+     * @param expireAt Token过期时间
+     */
+    public void revoke(String jti, Date expireAt) {
+        if (jti == null || expireAt == null) {
+            throw new IllegalArgumentException("Token缺少jti或过期时间，无法吊销");
+        }
+        long expireAtMillis = expireAt.getTime();
+        long ttl = expireAtMillis - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return;
+        }
+        redisUtil.set(KEY_PREFIX + jti, expireAtMillis, ttl, TimeUnit.MILLISECONDS);
+        record(jti, expireAtMillis);
+        byte[] payload = (jti + PAYLOAD_SEPARATOR + expireAtMillis).getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(REVOKE_CHANNEL_BYTES, payload));
+        } catch (Exception e) {
+            log.warn("Token吊销广播失败，其他节点将在定时同步时生效: {}", jti, e);
+        }
+    }
+
+    /**
+     * 是否已吊销：本地未命中直接返回false，本地命中时查Redis确认
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Long expireAt = revoked.get(jti);
+        if (expireAt == null) {
+            return false;
+        }
+        if (expireAt <= System.currentTimeMillis()) {
+            revoked.remove(jti, expireAt);
+            return false;
+        }
+        try {
+            if (Boolean.TRUE.equals(redisUtil.hasKey(KEY_PREFIX + jti))) {
+                return true;
+            }
+            revoked.remove(jti, expireAt);
+            return false;
+        } catch (Exception e) {
+            // Redis不可用时以本地记录为准
+            log.warn("Token吊销状态确认失败，按已吊销处理: {}", jti, e);
+            return true;
+        }
+    }
+
+    /**
+     * 处理吊销广播，格式：jti|过期时间
+     */
+    public void onRevoked(String payload) {
+        int index = payload.lastIndexOf(PAYLOAD_SEPARATOR);
+        if (index <= 0) {
+            return;
+        }
+        try {
+            record(payload.substring(0, index), Long.parseLong(payload.substring(index + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("无法识别的Token吊销广播: {}", payload);
+        }
+    }
+
+    /**
+     * 本地吊销记录数
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * 从Redis全量同步本地镜像
+     */
+    public void resync() {
+        ConcurrentMap<String, Long> loaded = new ConcurrentHashMap<>();
+        List<String> batch = new ArrayList<>(SCAN_COUNT);
+        try (Stream<String> keys = redisUtil.scan(KEY_PREFIX + "*", SCAN_COUNT)) {
+            keys.forEach(key -> {
+                batch.add(key);
+                if (batch.size() >= SCAN_COUNT) {
+                    load(batch, loaded);
+                }
+            });
+        }
+        load(batch, loaded);
+        swap(loaded);
+    }
+
+    private synchronized void record(String jti, long expireAt) {
+        revoked.put(jti, expireAt);
+    }
+
+    /**
+     * 替换本地镜像，同步期间新增的吊销记录保留
+     */
+    private synchronized void swap(ConcurrentMap<String, Long> loaded) {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Long> entry : revoked.entrySet()) {
+            if (entry.getValue() > now) {
+                loaded.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        revoked = loaded;
+    }
+
+    private void load(List<String> keys, Map<String, Long> target) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<Object> values = redisUtil.multiGet(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            Object value = values == null ? null : values.get(i);
+            if (value instanceof Number) {
+                target.put(keys.get(i).substring(KEY_PREFIX.length()), ((Number) value).longValue());
+            }
+        }
+        keys.clear();
+    }
+
+    private void resyncQuietly() {
+        try {
+            resync();
+        } catch (Exception e) {
+            log.warn("Token吊销列表同步失败", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
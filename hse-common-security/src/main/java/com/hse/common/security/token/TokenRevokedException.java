@@ -0,0 +1,15 @@
+package com.hse.common.security.token;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Token已吊销异常
+ *
+ * @author HSE
+ */
+public class TokenRevokedException extends JwtException {
+
+    public TokenRevokedException(String jti) {
+        super("Token已吊销: " + jti);
+    }
+}
@@ -1,30 +1,100 @@
 package com.hse.common.security.utils;
 
+import cn.hutool.crypto.digest.DigestUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.hse.common.security.domain.LoginUser;
+import com.hse.common.security.permission.PermissionSet;
+import com.hse.common.security.token.TokenRevocationService;
+import com.hse.common.security.token.TokenRevokedException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT工具类
+ * 密钥与解析器启动时构建一次；验签通过的Claims按Token摘要缓存，过期时间不晚于Token的exp，
+ * 同一Token的重复请求不再重复验签
+ *
+ * 开启吊销（jwt.revocation.enabled=true）后，解析时校验jti是否已吊销，缓存命中时同样校验
  *
  * @author HSE
  */
 @Component
 public class JwtUtil {
 
+    /**
+     * 用户ID声明
+     */
+    public static final String USER_ID_CLAIM = "uid";
+
+    /**
+     * 角色位图声明（PermissionSet编码）
+     */
+    public static final String ROLES_CLAIM = "roles";
+
+    /**
+     * 权限位图声明（PermissionSet编码）
+     */
+    public static final String PERMISSIONS_CLAIM = "perms";
+
     @Value("${jwt.secret:hse-boot-secret-key-for-jwt-token-generation-minimum-512-bits}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
 
+    /**
+     * 验签结果缓存的最大条目数，0表示不缓存
+     */
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+
+    /**
+     * 验签结果最长缓存时间（秒），实际不超过Token剩余有效期
+     */
+    @Value("${jwt.cache.max-ttl-seconds:300}")
+    private long cacheMaxTtlSeconds;
+
+    private SecretKey secretKey;
+
+    private JwtParser jwtParser;
+
+    /**
+     * Token摘要 -> 已验签的Claims
+     */
+    private Cache<String, Claims> claimsCache;
+
+    @Autowired(required = false)
+    private TokenRevocationService tokenRevocationService;
+
+    @PostConstruct
+    public void init() {
+        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+        if (cacheMaximumSize > 0) {
+            this.claimsCache = Caffeine.newBuilder()
+                    .maximumSize(cacheMaximumSize)
+                    .expireAfter(new ClaimsExpiry(TimeUnit.SECONDS.toNanos(cacheMaxTtlSeconds)))
+                    .build();
+        }
+    }
+
     /**
      * 生成Token
      */
@@ -32,6 +102,21 @@ public class JwtUtil {
         return generateToken(subject, null);
     }
 
+    /**
+     * 生成Token，携带用户ID及压缩编码的角色、权限位图
+     */
+    public String generateToken(LoginUser loginUser) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, loginUser.getUserId());
+        if (loginUser.getRoles() != null) {
+            claims.put(ROLES_CLAIM, loginUser.getRoles().encode());
+        }
+        if (loginUser.getPermissions() != null) {
+            claims.put(PERMISSIONS_CLAIM, loginUser.getPermissions().encode());
+        }
+        return generateToken(loginUser.getUsername(), claims);
+    }
+
     /**
      * 生成Token
      */
@@ -41,22 +126,47 @@ public class JwtUtil {
 
         return Jwts.builder()
                 .subject(subject)
+                .id(UUID.randomUUID().toString())
                 .claims(claims)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
     /**
-     * 解析Token
+     * 解析Token，命中缓存时跳过验签；已吊销时抛出 {@link TokenRevokedException}
      */
     public Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = verify(token);
+        if (tokenRevocationService != null && tokenRevocationService.isRevoked(claims.getId())) {
+            throw new TokenRevokedException(claims.getId());
+        }
+        return claims;
+    }
+
+    /**
+     * 是否开启Token吊销
+     */
+    public boolean isRevocationEnabled() {
+        return tokenRevocationService != null;
+    }
+
+    /**
+     * 吊销Token（退出登录、修改密码等），已过期的Token忽略
+     */
+    public void revokeToken(String token) {
+        if (tokenRevocationService == null) {
+            throw new IllegalStateException("未开启Token吊销：jwt.revocation.enabled=true");
+        }
+        Claims claims;
+        try {
+            claims = verify(token);
+        } catch (ExpiredJwtException e) {
+            return;
+        }
+        tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+        evict(token);
     }
 
     /**
@@ -66,6 +176,20 @@ public class JwtUtil {
         return parseToken(token).getSubject();
     }
 
+    /**
+     * 读取Token中的角色位图，未携带时返回 {@link PermissionSet#EMPTY}
+     */
+    public static PermissionSet getRoles(Claims claims) {
+        return PermissionSet.decode(claims.get(ROLES_CLAIM, String.class));
+    }
+
+    /**
+     * 读取Token中的权限位图，未携带时返回 {@link PermissionSet#EMPTY}
+     */
+    public static PermissionSet getPermissions(Claims claims) {
+        return PermissionSet.decode(claims.get(PERMISSIONS_CLAIM, String.class));
+    }
+
     /**
      * 验证Token是否有效
      */
@@ -79,9 +203,66 @@ public class JwtUtil {
     }
 
     /**
-     * 获取密钥
+     * 移除Token的验签缓存
+     */
+    public void evict(String token) {
+        if (claimsCache != null) {
+            claimsCache.invalidate(DigestUtil.sha256Hex(token));
+        }
+    }
+
+    /**
+     * 验签，命中缓存时跳过
+     */
+    private Claims verify(String token) {
+        if (claimsCache == null) {
+            return jwtParser.parseSignedClaims(token).getPayload();
+        }
+        String digest = DigestUtil.sha256Hex(token);
+        Claims claims = claimsCache.getIfPresent(digest);
+        if (claims != null && !isExpired(claims)) {
+            return claims;
+        }
+        // 未命中或已过期时重新解析，过期Token由解析器抛出ExpiredJwtException
+        claims = jwtParser.parseSignedClaims(token).getPayload();
+        claimsCache.put(digest, claims);
+        return claims;
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date exp = claims.getExpiration();
+        return exp != null && exp.getTime() <= System.currentTimeMillis();
+    }
+
+    /**
+     * 缓存过期时间：min(Token剩余有效期, 最长缓存时间)
      */
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private static final class ClaimsExpiry implements Expiry<String, Claims> {
+
+        private final long maxTtlNanos;
+
+        private ClaimsExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date exp = claims.getExpiration();
+            if (exp == null) {
+                return maxTtlNanos;
+            }
+            long remaining = TimeUnit.MILLISECONDS.toNanos(exp.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(remaining, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
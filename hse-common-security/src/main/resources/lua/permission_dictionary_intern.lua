@@ -0,0 +1,15 @@
+-- 为权限码分配下标（已分配时返回原下标）
+-- KEYS[1] 字典哈希
+-- ARGV[1] 权限码  ARGV[2] 新建时的纪元  ARGV[3] 新建时保留给种子权限码的下标数
+-- 返回 {纪元, 保留下标数, 下标}
+if redis.call('HEXISTS', KEYS[1], '@epoch') == 0 then
+    redis.call('DEL', KEYS[1])
+    redis.call('HSET', KEYS[1], '@epoch', ARGV[2], '@reserved', ARGV[3], '@seq', ARGV[3])
+end
+local index = redis.call('HGET', KEYS[1], ARGV[1])
+if not index then
+    index = tostring(redis.call('HINCRBY', KEYS[1], '@seq', 1) - 1)
+    redis.call('HSET', KEYS[1], ARGV[1], index)
+end
+local state = redis.call('HMGET', KEYS[1], '@epoch', '@reserved')
+return {state[1], state[2], index}
@@ -0,0 +1,10 @@
+-- 加载权限码字典（不存在时以新纪元创建）
+-- KEYS[1] 字典哈希
+-- ARGV[1] 新建时的纪元  ARGV[2] 新建时保留给种子权限码的下标数
+-- 返回哈希全部字段，依次为 字段, 值, 字段, 值 ...
+if redis.call('HEXISTS', KEYS[1], '@epoch') == 0 then
+    -- 没有纪元说明字典是旧格式或已丢失，残留的下标不可信，整体重建
+    redis.call('DEL', KEYS[1])
+    redis.call('HSET', KEYS[1], '@epoch', ARGV[1], '@reserved', ARGV[2], '@seq', ARGV[2])
+end
+return redis.call('HGETALL', KEYS[1])
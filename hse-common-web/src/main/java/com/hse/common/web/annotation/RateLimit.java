@@ -0,0 +1,58 @@
+package com.hse.common.web.annotation;
+
+import com.hse.common.web.ratelimit.RateLimitAlgorithm;
+import com.hse.common.web.ratelimit.RateLimitDimension;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口限流注解，可用于Controller类或方法（方法优先）
+ * 超出限制时返回HTTP 429及 R.fail(MessageCode.TOO_MANY_REQUESTS)
+ *
+ * 示例：每个IP每秒最多10次
+ * <pre>
+ * &#64;RateLimit(dimension = RateLimitDimension.IP, limit = 10, period = 1)
+ * </pre>
+ *
+ * @author HSE
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimit {
+
+    /**
+     * 限流名称，为空时使用 类名.方法名
+     */
+    String name() default "";
+
+    /**
+     * 限流算法
+     */
+    RateLimitAlgorithm algorithm() default RateLimitAlgorithm.TOKEN_BUCKET;
+
+    /**
+     * 限流维度
+     */
+    RateLimitDimension dimension() default RateLimitDimension.ROUTE;
+
+    /**
+     * 每个周期允许的请求数（令牌桶容量）
+     */
+    long limit();
+
+    /**
+     * 周期
+     */
+    long period() default 1;
+
+    /**
+     * 周期单位
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+}
@@ -0,0 +1,170 @@
+package com.hse.common.web.async;
+
+import com.hse.common.web.config.AsyncProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 命名异步执行器
+ * 每个执行器有界（线程池：核心/最大线程数 + 有界队列；虚拟线程：并发上限），超出时拒绝（TaskRejectedException），
+ * 线程名为 hse-async-{name}-N，
+ * 提交的任务统一经过上下文传递装饰器，异步线程中语言、登录用户、MDC与提交线程一致
+ *
+ * 示例：
+ * <pre>
+ * &#64;GetMapping("/{id}")
+ * public CompletableFuture&lt;R&lt;UserDTO&gt;&gt; get(&#64;PathVariable Long id) {
+ *     return asyncExecutors.supply("downstream", () -&gt; R.ok(userClient.get(id)));
+ * }
+ * </pre>
+ * 异常由全局异常处理器转换为 R.fail；后续阶段如需异步执行，使用 thenApplyAsync(fn, asyncExecutors.getExecutor(name))，
+ * 不带执行器的 *Async 方法在公共线程池执行，不传递上下文
+ *
+ * @author HSE
+ */
+@Slf4j
+public class AsyncExecutors implements DisposableBean {
+
+    private static final String THREAD_NAME_PREFIX = "hse-async-";
+
+    /**
+     * 关闭时等待运行中任务结束的时间
+     */
+    private static final int AWAIT_TERMINATION_SECONDS = 10;
+
+    private final Map<String, AsyncTaskExecutor> executors = new LinkedHashMap<>();
+
+    private final List<ThreadPoolTaskExecutor> pools = new ArrayList<>();
+
+    private final List<VirtualThreadTaskExecutor> virtualExecutors = new ArrayList<>();
+
+    private final String mvcExecutor;
+
+    private final long timeoutMillis;
+
+    public AsyncExecutors(AsyncProperties properties, TaskDecorator taskDecorator) {
+        Map<String, AsyncProperties.Pool> configs = new LinkedHashMap<>(properties.getExecutors());
+        configs.putIfAbsent(AsyncProperties.DEFAULT_EXECUTOR, new AsyncProperties.Pool());
+        for (Map.Entry<String, AsyncProperties.Pool> entry : configs.entrySet()) {
+            executors.put(entry.getKey(), create(entry.getKey(), entry.getValue(), taskDecorator));
+        }
+        if (!executors.containsKey(properties.getMvcExecutor())) {
+            throw new IllegalArgumentException("异步执行器不存在: " + properties.getMvcExecutor());
+        }
+        this.mvcExecutor = properties.getMvcExecutor();
+        this.timeoutMillis = properties.getTimeoutMillis();
+    }
+
+    /**
+     * 获取命名执行器
+     */
+    public AsyncTaskExecutor getExecutor(String name) {
+        AsyncTaskExecutor executor = executors.get(name);
+        if (executor == null) {
+            throw new IllegalArgumentException("异步执行器不存在: " + name);
+        }
+        return executor;
+    }
+
+    /**
+     * 执行Controller返回的Callable的执行器
+     */
+    public AsyncTaskExecutor getMvcExecutor() {
+        return executors.get(mvcExecutor);
+    }
+
+    /**
+     * Spring MVC异步请求超时时间（毫秒）
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * 全部命名执行器
+     */
+    public Map<String, AsyncTaskExecutor> getExecutors() {
+        return Collections.unmodifiableMap(executors);
+    }
+
+    /**
+     * 在默认执行器中执行
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        return supply(AsyncProperties.DEFAULT_EXECUTOR, supplier);
+    }
+
+    /**
+     * 在命名执行器中执行
+     */
+    public <T> CompletableFuture<T> supply(String name, Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, getExecutor(name));
+    }
+
+    /**
+     * 在命名执行器中执行
+     */
+    public CompletableFuture<Void> run(String name, Runnable runnable) {
+        return CompletableFuture.runAsync(runnable, getExecutor(name));
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(ThreadPoolTaskExecutor::shutdown);
+        virtualExecutors.forEach(executor -> executor.shutdown(AWAIT_TERMINATION_SECONDS, TimeUnit.SECONDS));
+    }
+
+    private AsyncTaskExecutor create(String name, AsyncProperties.Pool config, TaskDecorator taskDecorator) {
+        String prefix = THREAD_NAME_PREFIX + name + "-";
+        if (config.isVirtual()) {
+            ThreadFactory threadFactory = virtualThreadFactory(prefix);
+            if (threadFactory != null) {
+                VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor(name, threadFactory, taskDecorator,
+                        config.getConcurrencyLimit());
+                virtualExecutors.add(executor);
+                log.info("异步执行器[{}]使用虚拟线程，并发上限{}", name, config.getConcurrencyLimit());
+                return executor;
+            }
+            log.warn("当前JDK不支持虚拟线程，异步执行器[{}]改用线程池", name);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getCoreSize());
+        executor.setMaxPoolSize(config.getMaxSize());
+        executor.setQueueCapacity(config.getQueueCapacity());
+        executor.setKeepAliveSeconds(config.getKeepAliveSeconds());
+        executor.setThreadNamePrefix(prefix);
+        executor.setTaskDecorator(taskDecorator);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(AWAIT_TERMINATION_SECONDS);
+        executor.initialize();
+        pools.add(executor);
+        return executor;
+    }
+
+    /**
+     * 通过反射创建虚拟线程工厂（Thread.ofVirtual().name(prefix, 0).factory()），不支持时返回null
+     */
+    private static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+}
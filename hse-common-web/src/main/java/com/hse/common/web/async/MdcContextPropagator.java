@@ -0,0 +1,40 @@
+package com.hse.common.web.async;
+
+import com.hse.common.core.context.ContextPropagator;
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+/**
+ * 传递日志MDC（如traceId），异步线程的日志与请求关联
+ *
+ * @author HSE
+ */
+public class MdcContextPropagator implements ContextPropagator {
+
+    @Override
+    public Object capture() {
+        return MDC.getCopyOfContextMap();
+    }
+
+    @Override
+    public Object apply(Object captured) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        set(captured);
+        return previous;
+    }
+
+    @Override
+    public void restore(Object previous) {
+        set(previous);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void set(Object context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap((Map<String, String>) context);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.hse.common.web.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 虚拟线程执行器
+ * 每个任务一个新线程，并发数由信号量限制：达到上限时立即拒绝（TaskRejectedException），不阻塞提交线程，
+ * 与线程池队列满时的行为一致；关闭时等待运行中的任务结束，超时后中断
+ *
+ * @author HSE
+ */
+@Slf4j
+public class VirtualThreadTaskExecutor implements AsyncTaskExecutor {
+
+    private final String name;
+
+    private final ThreadFactory threadFactory;
+
+    private final TaskDecorator taskDecorator;
+
+    private final int concurrencyLimit;
+
+    private final Semaphore permits;
+
+    private final Set<Thread> running = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean shutdown;
+
+    public VirtualThreadTaskExecutor(String name, ThreadFactory threadFactory, TaskDecorator taskDecorator,
+                                     int concurrencyLimit) {
+        if (concurrencyLimit <= 0) {
+            throw new IllegalArgumentException("异步执行器[" + name + "]的并发上限必须大于0: " + concurrencyLimit);
+        }
+        this.name = name;
+        this.threadFactory = threadFactory;
+        this.taskDecorator = taskDecorator;
+        this.concurrencyLimit = concurrencyLimit;
+        this.permits = new Semaphore(concurrencyLimit);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (shutdown) {
+            throw new TaskRejectedException("异步执行器[" + name + "]已关闭");
+        }
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException("异步执行器[" + name + "]并发已达上限" + concurrencyLimit);
+        }
+        try {
+            Runnable decorated = taskDecorator != null ? taskDecorator.decorate(task) : task;
+            Thread thread = threadFactory.newThread(() -> {
+                try {
+                    decorated.run();
+                } finally {
+                    running.remove(Thread.currentThread());
+                    permits.release();
+                }
+            });
+            running.add(thread);
+            try {
+                thread.start();
+            } catch (RuntimeException | Error e) {
+                running.remove(thread);
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            permits.release();
+            throw new TaskRejectedException("异步执行器[" + name + "]创建线程失败", e);
+        } catch (Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void execute(Runnable task, long startTimeout) {
+        execute(task);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        FutureTask<Object> future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * 停止接收任务，等待运行中的任务结束，超时后中断剩余线程
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        shutdown = true;
+        try {
+            if (permits.tryAcquire(concurrencyLimit, timeout, unit)) {
+                permits.release(concurrencyLimit);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("异步执行器[{}]关闭超时，中断{}个运行中的任务", name, running.size());
+        running.forEach(Thread::interrupt);
+    }
+}
@@ -0,0 +1,61 @@
+package com.hse.common.web.config;
+
+import com.hse.common.core.context.ContextPropagatingTaskDecorator;
+import com.hse.common.core.context.ContextPropagator;
+import com.hse.common.core.context.LocaleContextPropagator;
+import com.hse.common.web.async.AsyncExecutors;
+import com.hse.common.web.async.MdcContextPropagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.stream.Collectors;
+
+/**
+ * 异步执行配置
+ * 开启方式：hse.web.async.enabled=true，Spring MVC异步支持由 WebConfig 配置
+ *
+ * 上下文传递：内置语言（LocaleContextHolder）与MDC，开启登录会话时同时传递登录用户；
+ * 注册 {@link ContextPropagator} 类型的Bean即可扩展
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hse.web.async", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AsyncProperties.class)
+public class AsyncConfig {
+
+    /**
+     * 传递请求语言
+     */
+    @Bean
+    public LocaleContextPropagator localeContextPropagator() {
+        return new LocaleContextPropagator();
+    }
+
+    /**
+     * 传递日志MDC
+     */
+    @Bean
+    public MdcContextPropagator mdcContextPropagator() {
+        return new MdcContextPropagator();
+    }
+
+    /**
+     * 上下文传递装饰器
+     */
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator(ObjectProvider<ContextPropagator> propagators) {
+        return new ContextPropagatingTaskDecorator(propagators.orderedStream().collect(Collectors.toList()));
+    }
+
+    /**
+     * 命名异步执行器
+     */
+    @Bean
+    public AsyncExecutors asyncExecutors(AsyncProperties properties, ContextPropagatingTaskDecorator taskDecorator) {
+        return new AsyncExecutors(properties, taskDecorator);
+    }
+}
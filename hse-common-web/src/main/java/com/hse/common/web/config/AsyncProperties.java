@@ -0,0 +1,94 @@
+package com.hse.common.web.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 异步执行配置
+ *
+ * <pre>
+ * hse:
+ *   web:
+ *     async:
+ *       enabled: true
+ *       timeout-millis: 30000
+ *       executors:
+ *         default:
+ *           core-size: 16
+ *           max-size: 64
+ *         downstream:
+ *           virtual: true
+ *           concurrency-limit: 500
+ * </pre>
+ *
+ * @author HSE
+ */
+@Data
+@ConfigurationProperties(prefix = "hse.web.async")
+public class AsyncProperties {
+
+    /**
+     * 默认执行器名称，未配置时按默认参数创建
+     */
+    public static final String DEFAULT_EXECUTOR = "default";
+
+    /**
+     * 是否开启异步执行
+     */
+    private boolean enabled = false;
+
+    /**
+     * Spring MVC异步请求（Callable/DeferredResult/CompletableFuture）超时时间，超时返回 REQUEST_TIMEOUT
+     */
+    private long timeoutMillis = 30000;
+
+    /**
+     * 执行Controller返回的Callable的执行器
+     */
+    private String mvcExecutor = DEFAULT_EXECUTOR;
+
+    /**
+     * 命名执行器
+     */
+    private Map<String, Pool> executors = new LinkedHashMap<>();
+
+    /**
+     * 执行器参数
+     */
+    @Data
+    public static class Pool {
+
+        /**
+         * 核心线程数
+         */
+        private int coreSize = 8;
+
+        /**
+         * 最大线程数
+         */
+        private int maxSize = 32;
+
+        /**
+         * 队列容量，队列满且线程数达到上限时拒绝任务（返回 TOO_MANY_REQUESTS）
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * 空闲线程存活时间（秒）
+         */
+        private int keepAliveSeconds = 60;
+
+        /**
+         * 是否使用虚拟线程（JDK 21+，不支持时使用线程池）
+         */
+        private boolean virtual = false;
+
+        /**
+         * 虚拟线程的最大并发数，达到上限时拒绝提交（TaskRejectedException），不阻塞提交方
+         */
+        private int concurrencyLimit = 1000;
+    }
+}
@@ -0,0 +1,36 @@
+package com.hse.common.web.config;
+
+import com.hse.common.web.exception.ExceptionLogLimiter;
+import com.hse.common.web.exception.ExceptionStatsEndpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 异常日志限流配置
+ * 开启方式：hse.web.exception-log.enabled=true，关闭时 GlobalExceptionHandler 逐条输出日志
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hse.web.exception-log", name = "enabled", havingValue = "true")
+public class ExceptionLogConfig {
+
+    /**
+     * 异常日志限流器
+     */
+    @Bean
+    public ExceptionLogLimiter exceptionLogLimiter(@Value("${hse.web.exception-log.max-per-window:10}") int maxPerWindow,
+                                                   @Value("${hse.web.exception-log.window-seconds:60}") long windowSeconds) {
+        return new ExceptionLogLimiter(maxPerWindow, windowSeconds);
+    }
+
+    /**
+     * 异常统计端点
+     */
+    @Bean
+    public ExceptionStatsEndpoint exceptionStatsEndpoint(ExceptionLogLimiter exceptionLogLimiter) {
+        return new ExceptionStatsEndpoint(exceptionLogLimiter);
+    }
+}
@@ -0,0 +1,39 @@
+package com.hse.common.web.config;
+
+import com.hse.common.web.metrics.HandlerMetricsInterceptor;
+import com.hse.common.web.metrics.ResponseCodeAdvice;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 接口指标配置
+ * 开启方式：hse.web.metrics.enabled=true，拦截器由 WebConfig 注册，指标通过 /actuator/prometheus 导出
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hse.web.metrics", name = "enabled", havingValue = "true")
+public class HandlerMetricsConfig {
+
+    /**
+     * 记录响应的R消息码
+     */
+    @Bean
+    public ResponseCodeAdvice responseCodeAdvice() {
+        return new ResponseCodeAdvice();
+    }
+
+    /**
+     * 接口指标拦截器
+     */
+    @Bean
+    public HandlerMetricsInterceptor handlerMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                                               @Value("${hse.web.metrics.max-expected-millis:30000}") long maxExpectedMillis) {
+        return new HandlerMetricsInterceptor(meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new), maxExpectedMillis);
+    }
+}
@@ -2,6 +2,7 @@ package com.hse.common.web.config;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -12,9 +13,14 @@ import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.hse.common.web.stream.StreamingEnvelopeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ClassUtils;
 
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
@@ -27,23 +33,53 @@ import java.util.TimeZone;
  * Jackson序列化配置
  * 全局使用蛇形命名（snake_case）
  *
+ * 配置档（hse.web.json.profile）：
+ * - development：格式化输出，反射访问属性，便于调试
+ * - production：紧凑输出
+ *
+ * 属性访问器默认使用反射；字节码访问器（Afterburner/Blackbird）需显式配置 hse.web.json.accessor，
+ * 建议先在实际响应结构上压测确认收益后再开启
+ *
+ * 全局只有这一个ObjectMapper，HTTP消息转换器、限流响应等均注入同一实例，共享序列化器缓存
+ *
  * @author HSE
  */
+@Slf4j
 @Configuration
 public class JacksonConfig {
 
     /**
      * 日期时间格式
      */
-    private static final String DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
-    private static final String DATE_FORMAT = "yyyy-MM-dd";
-    private static final String TIME_FORMAT = "HH:mm:ss";
+    public static final String DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    public static final String DATE_FORMAT = "yyyy-MM-dd";
+    public static final String TIME_FORMAT = "HH:mm:ss";
+
+    /**
+     * 时区
+     */
+    public static final String TIME_ZONE = "GMT+8";
+
+    /**
+     * 生产配置档
+     */
+    private static final String PROFILE_PRODUCTION = "production";
+
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
 
     /**
      * 全局Jackson配置
+     *
+     * @param profile  配置档：development / production
+     * @param accessor 属性访问方式：reflection（默认）、afterburner、blackbird、auto（production时启用字节码访问器）
+     * @param streamFlushSize 流式响应每写出多少个元素flush一次
      */
     @Bean
-    public ObjectMapper objectMapper(Jackson2ObjectMapperBuilder builder) {
+    public ObjectMapper objectMapper(Jackson2ObjectMapperBuilder builder,
+                                     @Value("${hse.web.json.profile:development}") String profile,
+                                     @Value("${hse.web.json.accessor:reflection}") String accessor,
+                                     @Value("${hse.web.json.stream-flush-size:100}") int streamFlushSize) {
+        boolean production = PROFILE_PRODUCTION.equalsIgnoreCase(profile.trim());
         ObjectMapper objectMapper = builder.createXmlMapper(false).build();
 
         // ========== 命名策略配置 ==========
@@ -54,8 +90,8 @@ public class JacksonConfig {
         // ========== 序列化配置 ==========
         // 不序列化null值
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        // 格式化输出（开发环境建议开启，生产环境可关闭）
-        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        // 格式化输出（仅开发环境开启，生产环境紧凑输出）
+        objectMapper.configure(SerializationFeature.INDENT_OUTPUT, !production);
         // 禁用将日期序列化为时间戳
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         // 禁用将Date转为数字
@@ -69,7 +105,7 @@ public class JacksonConfig {
 
         // ========== 日期时间配置 ==========
         // 设置时区
-        objectMapper.setTimeZone(TimeZone.getTimeZone("GMT+8"));
+        objectMapper.setTimeZone(TimeZone.getTimeZone(TIME_ZONE));
         // Date类型格式
         objectMapper.setDateFormat(new SimpleDateFormat(DATE_TIME_FORMAT));
 
@@ -93,6 +129,75 @@ public class JacksonConfig {
 
         objectMapper.registerModule(javaTimeModule);
 
+        // 流式响应：R的data为Stream/Iterator/Cursor时逐个写出元素
+        objectMapper.registerModule(new StreamingEnvelopeModule(streamFlushSize));
+
+        // ========== 属性访问器 ==========
+        Module accessorModule = accessorModule(accessor.trim(), production);
+        if (accessorModule != null) {
+            objectMapper.registerModule(accessorModule);
+        }
+        log.info("Jackson配置档: {}，属性访问器: {}", production ? PROFILE_PRODUCTION : "development",
+                accessorModule == null ? "reflection" : accessorModule.getModuleName());
+
         return objectMapper;
     }
+
+    /**
+     * 选择字节码访问器模块，使用反射时返回null
+     */
+    private static Module accessorModule(String accessor, boolean production) {
+        switch (accessor.toLowerCase()) {
+            case "reflection":
+                return null;
+            case "afterburner":
+                return new AfterburnerModule();
+            case "blackbird":
+                Module blackbird = blackbirdModule();
+                if (blackbird == null) {
+                    throw new IllegalStateException("使用Blackbird需要JDK 11+并引入 jackson-module-blackbird");
+                }
+                return blackbird;
+            case "auto":
+                if (!production) {
+                    return null;
+                }
+                Module module = blackbirdModule();
+                return module != null ? module : new AfterburnerModule();
+            default:
+                throw new IllegalArgumentException("不支持的hse.web.json.accessor: " + accessor);
+        }
+    }
+
+    /**
+     * Blackbird基于MethodHandle，需JDK 11+；以反射加载，不强制依赖
+     */
+    private static Module blackbirdModule() {
+        if (javaSpecificationVersion() < 11
+                || !ClassUtils.isPresent(BLACKBIRD_MODULE, JacksonConfig.class.getClassLoader())) {
+            return null;
+        }
+        try {
+            return (Module) ClassUtils.forName(BLACKBIRD_MODULE, JacksonConfig.class.getClassLoader())
+                    .getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            log.warn("Blackbird模块加载失败，改用Afterburner", e);
+            return null;
+        }
+    }
+
+    /**
+     * JDK主版本号（1.8 -> 8，11 -> 11）
+     */
+    private static int javaSpecificationVersion() {
+        String version = System.getProperty("java.specification.version", "1.8");
+        if (version.startsWith("1.")) {
+            version = version.substring(2);
+        }
+        try {
+            return Integer.parseInt(version);
+        } catch (NumberFormatException e) {
+            return 8;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.hse.common.web.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hse.common.web.interceptor.RateLimitInterceptor;
+import com.hse.common.web.ratelimit.RateLimitValidator;
+import com.hse.common.web.ratelimit.RedisRateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * 限流配置
+ * 开启方式：hse.web.rate-limit.enabled=true，拦截器由 WebConfig 注册
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnClass(name = "org.springframework.data.redis.core.RedisTemplate")
+@ConditionalOnProperty(prefix = "hse.web.rate-limit", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    /**
+     * 分布式限流器
+     */
+    @Bean
+    public RedisRateLimiter redisRateLimiter(RedisTemplate<String, Object> redisTemplate) {
+        return new RedisRateLimiter(redisTemplate);
+    }
+
+    /**
+     * 限流注解启动校验
+     */
+    @Bean
+    public static RateLimitValidator rateLimitValidator() {
+        return new RateLimitValidator();
+    }
+
+    /**
+     * 限流拦截器，启动时校验YAML规则
+     */
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor(RedisRateLimiter redisRateLimiter,
+                                                     RateLimitProperties properties,
+                                                     ObjectMapper objectMapper) {
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            RateLimitValidator.validate("hse.web.rate-limit.rules[" + rule.getPathPattern() + "]",
+                    rule.getLimit(), rule.getPeriodMillis());
+        }
+        return new RateLimitInterceptor(redisRateLimiter, properties, objectMapper);
+    }
+}
@@ -0,0 +1,73 @@
+package com.hse.common.web.config;
+
+import com.hse.common.web.ratelimit.RateLimitAlgorithm;
+import com.hse.common.web.ratelimit.RateLimitDimension;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 限流配置
+ *
+ * <pre>
+ * hse:
+ *   web:
+ *     rate-limit:
+ *       enabled: true
+ *       rules:
+ *         - path-pattern: /api/order/**
+ *           dimension: USER
+ *           limit: 20
+ *           period-millis: 1000
+ * </pre>
+ *
+ * @author HSE
+ */
+@Data
+@ConfigurationProperties(prefix = "hse.web.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * 是否开启限流
+     */
+    private boolean enabled = false;
+
+    /**
+     * 按路径配置的限流规则，与 @RateLimit 注解同时生效
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * 限流规则
+     */
+    @Data
+    public static class Rule {
+
+        /**
+         * 路径匹配（Ant风格）
+         */
+        private String pathPattern;
+
+        /**
+         * 限流算法
+         */
+        private RateLimitAlgorithm algorithm = RateLimitAlgorithm.TOKEN_BUCKET;
+
+        /**
+         * 限流维度
+         */
+        private RateLimitDimension dimension = RateLimitDimension.ROUTE;
+
+        /**
+         * 每个周期允许的请求数
+         */
+        private long limit;
+
+        /**
+         * 周期（毫秒）
+         */
+        private long periodMillis = 1000;
+    }
+}
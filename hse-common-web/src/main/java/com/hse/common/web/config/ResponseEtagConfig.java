@@ -0,0 +1,48 @@
+package com.hse.common.web.config;
+
+import com.hse.common.web.etag.ResponseCompressor;
+import com.hse.common.web.etag.ResponseEtagAdvice;
+import com.hse.common.web.etag.ResponseEtagFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 统一响应ETag与压缩配置
+ * 开启方式：hse.web.etag.enabled=true
+ *
+ * @author HSE
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hse.web.etag", name = "enabled", havingValue = "true")
+public class ResponseEtagConfig {
+
+    /**
+     * 标记可计算ETag的R响应
+     */
+    @Bean
+    public ResponseEtagAdvice responseEtagAdvice() {
+        return new ResponseEtagAdvice();
+    }
+
+    /**
+     * ETag与压缩过滤器，在认证过滤器之前执行，认证失败的响应同样压缩
+     */
+    @Bean
+    public FilterRegistrationBean<ResponseEtagFilter> responseEtagFilter(@Value("${hse.web.etag.compression:true}") boolean compression,
+                                                                         @Value("${hse.web.etag.compression-threshold:2048}") int compressionThreshold,
+                                                                         @Value("${hse.web.etag.compression-level:6}") int compressionLevel) {
+        ResponseCompressor compressor = compression
+                ? new ResponseCompressor(compressionLevel, Runtime.getRuntime().availableProcessors() * 2)
+                : null;
+        FilterRegistrationBean<ResponseEtagFilter> registration =
+                new FilterRegistrationBean<>(new ResponseEtagFilter(compressor, compressionThreshold));
+        registration.addUrlPatterns("/*");
+        registration.setName("hseResponseEtagFilter");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 50);
+        return registration;
+    }
+}
@@ -1,11 +1,25 @@
 package com.hse.common.web.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hse.common.core.constant.MessageCode;
+import com.hse.common.core.exception.StackTracePolicy;
 import com.hse.common.core.utils.MessageUtils;
+import com.hse.common.web.async.AsyncExecutors;
+import com.hse.common.web.converter.Fastjson2HttpMessageConverter;
+import com.hse.common.web.converter.ResponseEnvelopeHttpMessageConverter;
+import com.hse.common.web.interceptor.RateLimitInterceptor;
+import com.hse.common.web.metrics.HandlerMetricsInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -13,6 +27,8 @@ import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -23,6 +39,24 @@ import java.util.Locale;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * 限流拦截器（hse.web.rate-limit.enabled=true 时存在）
+     */
+    @Autowired(required = false)
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    /**
+     * 接口指标拦截器（hse.web.metrics.enabled=true 时存在）
+     */
+    @Autowired(required = false)
+    private HandlerMetricsInterceptor handlerMetricsInterceptor;
+
+    /**
+     * 命名异步执行器（hse.web.async.enabled=true 时存在）
+     */
+    @Autowired(required = false)
+    private AsyncExecutors asyncExecutors;
+
     /**
      * 国际化消息源
      */
@@ -65,19 +99,77 @@ public class WebConfig implements WebMvcConfigurer {
     }
 
     /**
-     * 注册国际化拦截器
+     * 注册拦截器
+     * 指标拦截器最先执行，被限流拒绝的请求同样计入；限流拦截器其次，被拒绝的请求不再进入后续处理
      */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        if (handlerMetricsInterceptor != null) {
+            registry.addInterceptor(handlerMetricsInterceptor);
+        }
+        if (rateLimitInterceptor != null) {
+            registry.addInterceptor(rateLimitInterceptor);
+        }
         registry.addInterceptor(localeChangeInterceptor());
     }
 
     /**
-     * 初始化 MessageUtils
+     * Spring MVC异步支持：Callable在命名执行器中执行（传递语言、登录用户、MDC），并设置超时时间
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        if (asyncExecutors != null) {
+            configurer.setTaskExecutor(asyncExecutors.getMvcExecutor());
+            configurer.setDefaultTimeout(asyncExecutors.getTimeoutMillis());
+        }
+    }
+
+    /**
+     * 初始化 MessageUtils，按配置的语言预编译消息目录
+     */
+    @Bean
+    public MessageUtils messageUtils(MessageSource messageSource,
+                                     @Value("${hse.i18n.locales:zh_CN,en_US}") String[] locales) {
+        List<Locale> catalogLocales = new ArrayList<>();
+        for (String locale : locales) {
+            if (StringUtils.hasText(locale)) {
+                catalogLocales.add(StringUtils.parseLocale(locale.trim()));
+            }
+        }
+        return new MessageUtils(messageSource, catalogLocales);
+    }
+
+    /**
+     * 业务异常堆栈策略
+     */
+    @Bean
+    public StackTracePolicy stackTracePolicy(@Value("${hse.exception.stackless:false}") boolean stackless,
+                                             @Value("${hse.exception.keep-stack-codes:INTERNAL_ERROR}") String[] keepStackCodes) {
+        List<MessageCode> codes = new ArrayList<>();
+        for (String code : keepStackCodes) {
+            if (StringUtils.hasText(code)) {
+                codes.add(MessageCode.valueOf(code.trim()));
+            }
+        }
+        return new StackTracePolicy(stackless, codes);
+    }
+
+    /**
+     * 统一响应快速输出转换器，替换默认的Jackson转换器（hse.web.json.fast-envelope=true 且未切换到fastjson2时生效）
+     */
+    @Bean
+    @ConditionalOnExpression("${hse.web.json.fast-envelope:false} and '${hse.web.json.engine:jackson}' != 'fastjson2'")
+    public ResponseEnvelopeHttpMessageConverter responseEnvelopeHttpMessageConverter(ObjectMapper objectMapper) {
+        return new ResponseEnvelopeHttpMessageConverter(objectMapper);
+    }
+
+    /**
+     * fastjson2消息转换器，替换默认的Jackson转换器（hse.web.json.engine=fastjson2 时生效）
      */
     @Bean
-    public MessageUtils messageUtils(MessageSource messageSource) {
-        return new MessageUtils(messageSource);
+    @ConditionalOnProperty(prefix = "hse.web.json", name = "engine", havingValue = "fastjson2")
+    public Fastjson2HttpMessageConverter fastjson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new Fastjson2HttpMessageConverter(objectMapper);
     }
 
     /**
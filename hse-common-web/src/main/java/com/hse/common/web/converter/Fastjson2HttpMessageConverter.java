@@ -0,0 +1,379 @@
+package com.hse.common.web.converter;
+
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.PropertyNamingStrategy;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.codec.BeanInfo;
+import com.alibaba.fastjson2.codec.FieldInfo;
+import com.alibaba.fastjson2.modules.ObjectWriterAnnotationProcessor;
+import com.alibaba.fastjson2.modules.ObjectWriterModule;
+import com.alibaba.fastjson2.reader.ObjectReader;
+import com.alibaba.fastjson2.reader.ObjectReaderProvider;
+import com.alibaba.fastjson2.writer.ObjectWriter;
+import com.alibaba.fastjson2.writer.ObjectWriterProvider;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hse.common.core.domain.R;
+import com.hse.common.web.config.JacksonConfig;
+import com.hse.common.web.stream.StreamingEnvelopeModule;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * fastjson2 消息转换器
+ * 按 {@link JacksonConfig} 的约定读写JSON：蛇形命名、不输出null、yyyy-MM-dd HH:mm:ss 等日期格式、GMT+8时区、忽略未知属性，
+ * 格式化输出跟随ObjectMapper的 INDENT_OUTPUT
+ *
+ * 属性顺序与Jackson一致：R按 code、msg、data、timestamp、success 输出，Bean属性按字段声明顺序（父类在前）输出，
+ * 紧凑输出时常见结构与Jackson字节一致
+ *
+ * 与Jackson的差异：
+ * - 格式化输出的缩进风格不同
+ * - 只识别fastjson2支持的Jackson注解，自定义序列化器（JsonSerializer）不生效
+ * 启动时用样例对比两者的JSON树并校验反序列化结果，不一致时全部回退到Jackson
+ *
+ * 继承Jackson转换器以替换其在转换器链中的位置；非UTF-8编码、JsonNode、MappingJacksonValue、流式R 仍由Jackson处理
+ *
+ * @author HSE
+ */
+@Slf4j
+public class Fastjson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private static final ZoneId ZONE = ZoneId.of(JacksonConfig.TIME_ZONE);
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(JacksonConfig.DATE_TIME_FORMAT);
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(JacksonConfig.DATE_FORMAT);
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(JacksonConfig.TIME_FORMAT);
+
+    private static final DateTimeFormatter ZONED_DATE_TIME_FORMATTER = DATE_TIME_FORMATTER.withZone(ZONE);
+
+    /**
+     * 蛇形命名在生成Bean序列化器时确定，不经过过滤器；显式指定的属性名（@JsonProperty、@JSONField）及Map的key不转换
+     */
+    private final ObjectWriterProvider writerProvider = new ObjectWriterProvider(PropertyNamingStrategy.SnakeCase);
+
+    private final ObjectReaderProvider readerProvider = new ObjectReaderProvider();
+
+    private final JSONWriter.Feature[] writeFeatures;
+
+    private final boolean enabled;
+
+    public Fastjson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+        writerProvider.register(new DeclarationOrderModule());
+        this.writeFeatures = objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)
+                ? new JSONWriter.Feature[]{JSONWriter.Feature.PrettyFormat}
+                : new JSONWriter.Feature[0];
+
+        writerProvider.register(Date.class, new TemporalWriter(value -> ZONED_DATE_TIME_FORMATTER.format(((Date) value).toInstant())));
+        writerProvider.register(LocalDateTime.class, new TemporalWriter(value -> DATE_TIME_FORMATTER.format((TemporalAccessor) value)));
+        writerProvider.register(LocalDate.class, new TemporalWriter(value -> DATE_FORMATTER.format((TemporalAccessor) value)));
+        writerProvider.register(LocalTime.class, new TemporalWriter(value -> TIME_FORMATTER.format((TemporalAccessor) value)));
+
+        readerProvider.register(Date.class, new TemporalReader(text -> Date.from(ZonedDateTime.of(
+                LocalDateTime.parse(text, DATE_TIME_FORMATTER), ZONE).toInstant())));
+        readerProvider.register(LocalDateTime.class, new TemporalReader(text -> LocalDateTime.parse(text, DATE_TIME_FORMATTER)));
+        readerProvider.register(LocalDate.class, new TemporalReader(text -> LocalDate.parse(text, DATE_FORMATTER)));
+        readerProvider.register(LocalTime.class, new TemporalReader(text -> LocalTime.parse(text, TIME_FORMATTER)));
+
+        this.enabled = verify();
+    }
+
+    /**
+     * fastjson2是否生效
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!enabled || object instanceof MappingJacksonValue || object instanceof JsonNode
+                || (object instanceof R && StreamingEnvelopeModule.isStreaming(((R<?>) object).getData()))
+                || !isUtf8(outputMessage.getHeaders().getContentType())) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        try {
+            outputMessage.getBody().write(toJsonBytes(object));
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HttpMessageNotWritableException("fastjson2序列化失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        Type resolved = GenericTypeResolver.resolveType(type, contextClass);
+        if (!enabled || isJacksonType(resolved) || !isUtf8(inputMessage.getHeaders().getContentType())) {
+            return super.read(type, contextClass, inputMessage);
+        }
+        return parse(StreamUtils.copyToByteArray(inputMessage.getBody()), resolved, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        if (!enabled || isJacksonType(clazz) || !isUtf8(inputMessage.getHeaders().getContentType())) {
+            return super.readInternal(clazz, inputMessage);
+        }
+        return parse(StreamUtils.copyToByteArray(inputMessage.getBody()), clazz, inputMessage);
+    }
+
+    private byte[] toJsonBytes(Object object) {
+        JSONWriter.Context context = new JSONWriter.Context(writerProvider);
+        context.config(writeFeatures);
+        try (JSONWriter jsonWriter = JSONWriter.ofUTF8(context)) {
+            jsonWriter.writeAny(object instanceof R ? envelope((R<?>) object) : object);
+            return jsonWriter.getBytes();
+        }
+    }
+
+    private Object parse(byte[] body, Type type, HttpInputMessage inputMessage) {
+        if (body.length == 0) {
+            throw new HttpMessageNotReadableException("请求体为空", inputMessage);
+        }
+        JSONReader.Context context = new JSONReader.Context(readerProvider);
+        context.config(JSONReader.Feature.SupportSmartMatch);
+        try (JSONReader jsonReader = JSONReader.of(body, context)) {
+            ObjectReader<?> objectReader = context.getObjectReader(type);
+            return objectReader.readObject(jsonReader, type, null, 0);
+        } catch (Exception e) {
+            throw new HttpMessageNotReadableException("JSON解析失败: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    /**
+     * R按Jackson的字段顺序输出
+     */
+    private static Map<String, Object> envelope(R<?> r) {
+        Map<String, Object> envelope = new LinkedHashMap<>(8);
+        putIfNotNull(envelope, "code", r.getCode());
+        putIfNotNull(envelope, "msg", r.getMsg());
+        putIfNotNull(envelope, "data", r.getData());
+        putIfNotNull(envelope, "timestamp", r.getTimestamp());
+        envelope.put("success", r.isSuccess());
+        return envelope;
+    }
+
+    private static void putIfNotNull(Map<String, Object> map, String key, Object value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+
+    private static boolean isJacksonType(Type type) {
+        return type instanceof Class && (JsonNode.class.isAssignableFrom((Class<?>) type)
+                || MappingJacksonValue.class.isAssignableFrom((Class<?>) type));
+    }
+
+    private static boolean isUtf8(MediaType contentType) {
+        Charset charset = contentType == null ? null : contentType.getCharset();
+        return charset == null || StandardCharsets.UTF_8.equals(charset);
+    }
+
+    /**
+     * 对比fastjson2与Jackson的输出（JSON树）及反序列化结果
+     */
+    private boolean verify() {
+        VerifySample sample = new VerifySample();
+        sample.setUserId(1L);
+        sample.setUserName("操作成功 \"ok\"\\\n\t<>&");
+        sample.setPhoneNumber("13800000000");
+        sample.setCreateTime(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        sample.setBirthday(LocalDate.of(2024, 1, 2));
+        sample.setStartTime(LocalTime.of(3, 4, 5));
+        sample.setUpdateDate(Date.from(Instant.ofEpochMilli(1704135845000L)));
+        sample.setTags(Arrays.asList("a", null));
+        sample.setAttributes(Collections.singletonMap("camelKey", 1));
+        R<Object> withData = new R<>("0000", "ok", sample);
+        R<Object> withoutData = new R<>("0001", null, null);
+        try {
+            ObjectMapper objectMapper = getObjectMapper();
+            for (R<Object> r : Arrays.asList(withData, withoutData)) {
+                if (!objectMapper.readTree(objectMapper.writeValueAsBytes(r)).equals(objectMapper.readTree(toJsonBytes(r)))) {
+                    log.warn("fastjson2输出与Jackson不一致，已回退到Jackson");
+                    return false;
+                }
+            }
+            JSONReader.Context context = new JSONReader.Context(readerProvider);
+            context.config(JSONReader.Feature.SupportSmartMatch);
+            try (JSONReader jsonReader = JSONReader.of(objectMapper.writeValueAsBytes(sample), context)) {
+                if (!sample.equals(context.getObjectReader(VerifySample.class).readObject(jsonReader, VerifySample.class, null, 0))) {
+                    log.warn("fastjson2反序列化结果与Jackson不一致，已回退到Jackson");
+                    return false;
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("fastjson2自检失败，已回退到Jackson", e);
+            return false;
+        }
+    }
+
+    /**
+     * Bean属性按字段声明顺序（父类在前）输出，与Jackson默认顺序一致；fastjson2默认按字母序
+     * 没有对应字段的getter排在最后，之间按名称排序
+     */
+    private static final class DeclarationOrderModule implements ObjectWriterModule, ObjectWriterAnnotationProcessor {
+
+        private static final int UNDECLARED = Integer.MAX_VALUE >> 1;
+
+        /**
+         * 类 -> 字段名（小写） -> 声明序号
+         */
+        private final Map<Class<?>, Map<String, Integer>> declarations = new ConcurrentHashMap<>();
+
+        @Override
+        public ObjectWriterAnnotationProcessor getAnnotationProcessor() {
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public void getFieldInfo(BeanInfo beanInfo, FieldInfo fieldInfo, Class objectType, Field field) {
+            fieldInfo.ordinal = ordinal(objectType, field.getName());
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public void getFieldInfo(BeanInfo beanInfo, FieldInfo fieldInfo, Class objectType, Method method) {
+            String name = method.getName();
+            int prefixLength = name.startsWith("get") ? 3 : name.startsWith("is") ? 2 : 0;
+            fieldInfo.ordinal = ordinal(objectType, name.substring(prefixLength));
+        }
+
+        private int ordinal(Class<?> objectType, String name) {
+            Integer ordinal = declarations.computeIfAbsent(objectType, DeclarationOrderModule::declarations)
+                    .get(name.toLowerCase(Locale.ROOT));
+            return ordinal != null ? ordinal : UNDECLARED;
+        }
+
+        private static Map<String, Integer> declarations(Class<?> objectType) {
+            Deque<Class<?>> hierarchy = new ArrayDeque<>();
+            for (Class<?> type = objectType; type != null && type != Object.class; type = type.getSuperclass()) {
+                hierarchy.push(type);
+            }
+            Map<String, Integer> result = new HashMap<>();
+            for (Class<?> type : hierarchy) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        result.putIfAbsent(field.getName().toLowerCase(Locale.ROOT), result.size());
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 日期时间输出为格式化字符串
+     */
+    private static final class TemporalWriter implements ObjectWriter<Object> {
+
+        private final Function<Object, String> formatter;
+
+        private TemporalWriter(Function<Object, String> formatter) {
+            this.formatter = formatter;
+        }
+
+        @Override
+        public void write(JSONWriter jsonWriter, Object object, Object fieldName, Type fieldType, long features) {
+            if (object == null) {
+                jsonWriter.writeNull();
+                return;
+            }
+            jsonWriter.writeString(formatter.apply(object));
+        }
+    }
+
+    /**
+     * 按格式解析日期时间，空字符串视为null
+     */
+    private static final class TemporalReader implements ObjectReader<Object> {
+
+        private final Function<String, Object> parser;
+
+        private TemporalReader(Function<String, Object> parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public Object readObject(JSONReader jsonReader, Type fieldType, Object fieldName, long features) {
+            String text = jsonReader.readString();
+            return text == null || text.isEmpty() ? null : parser.apply(text);
+        }
+    }
+
+    /**
+     * 自检样例
+     */
+    @Data
+    static class VerifySample {
+
+        private Long userId;
+
+        private String userName;
+
+        private String nickName;
+
+        @JsonProperty("mobile")
+        private String phoneNumber;
+
+        private LocalDateTime createTime;
+
+        private LocalDate birthday;
+
+        private LocalTime startTime;
+
+        private Date updateDate;
+
+        private List<String> tags;
+
+        private Map<String, Integer> attributes;
+    }
+}
@@ -0,0 +1,147 @@
+package com.hse.common.web.converter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hse.common.core.domain.R;
+import com.hse.common.web.stream.StreamingEnvelopeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 统一响应快速输出转换器
+ * 对 {@link R} 直接按字段写出：字段名及code/msg使用预编码的UTF-8字节（按消息文本缓存，不同语言各自一份），
+ * data交给Jackson在同一个生成器中序列化，最后写出timestamp和success，省去R本身的Bean反射序列化
+ *
+ * 输出与Jackson完全一致：启动时用样例对比两条路径的输出，不一致（如自定义了R的序列化、命名策略、转义规则）时
+ * 自动关闭快速路径，全部回退到Jackson；流式data（见 {@link StreamingEnvelopeModule}）交给Jackson逐个写出
+ *
+ * @author HSE
+ */
+@Slf4j
+public class ResponseEnvelopeHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private static final SerializedString CODE = new SerializedString("code");
+
+    private static final SerializedString MSG = new SerializedString("msg");
+
+    private static final SerializedString DATA = new SerializedString("data");
+
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+
+    private static final SerializedString SUCCESS = new SerializedString("success");
+
+    /**
+     * 预编码值缓存上限，code与msg的取值通常有限
+     */
+    private static final int MAX_CACHED_VALUES = 4096;
+
+    private final ConcurrentMap<String, SerializedString> cachedValues = new ConcurrentHashMap<>();
+
+    private final ObjectWriter dataWriter;
+
+    private final boolean fastPathEnabled;
+
+    public ResponseEnvelopeHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+        this.dataWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fastPathEnabled = verify();
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!fastPathEnabled || object == null || object.getClass() != R.class
+                || StreamingEnvelopeModule.isStreaming(((R<?>) object).getData())) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        JsonEncoding encoding = getJsonEncoding(outputMessage.getHeaders().getContentType());
+        writeEnvelope((R<?>) object, StreamUtils.nonClosing(outputMessage.getBody()), encoding);
+    }
+
+    /**
+     * 快速路径是否生效
+     */
+    public boolean isFastPathEnabled() {
+        return fastPathEnabled;
+    }
+
+    private void writeEnvelope(R<?> r, OutputStream outputStream, JsonEncoding encoding) throws IOException {
+        ObjectMapper objectMapper = getObjectMapper();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, encoding)) {
+            objectMapper.getSerializationConfig().initialize(generator);
+            generator.writeStartObject(r);
+            if (r.getCode() != null) {
+                generator.writeFieldName(CODE);
+                generator.writeString(serialized(r.getCode()));
+            }
+            if (r.getMsg() != null) {
+                generator.writeFieldName(MSG);
+                generator.writeString(serialized(r.getMsg()));
+            }
+            if (r.getData() != null) {
+                generator.writeFieldName(DATA);
+                dataWriter.writeValue(generator, r.getData());
+            }
+            if (r.getTimestamp() != null) {
+                generator.writeFieldName(TIMESTAMP);
+                generator.writeNumber(r.getTimestamp());
+            }
+            generator.writeFieldName(SUCCESS);
+            generator.writeBoolean(r.isSuccess());
+            generator.writeEndObject();
+            generator.flush();
+        }
+    }
+
+    private SerializedString serialized(String value) {
+        SerializedString cached = cachedValues.get(value);
+        if (cached != null) {
+            return cached;
+        }
+        SerializedString created = new SerializedString(value);
+        if (cachedValues.size() < MAX_CACHED_VALUES) {
+            cachedValues.putIfAbsent(value, created);
+        }
+        return created;
+    }
+
+    /**
+     * 对比快速路径与Jackson的输出
+     */
+    private boolean verify() {
+        R<Object> withData = new R<>("0000", "操作成功 \"ok\"\\\n\t<>& ", Collections.singletonMap("user_id", Arrays.asList(1L, "a", null)));
+        R<Object> withoutData = new R<>("0001", null, null);
+        try {
+            for (R<Object> sample : Arrays.asList(withData, withoutData)) {
+                byte[] expected = getObjectMapper().writeValueAsBytes(sample);
+                ByteArrayOutputStream actual = new ByteArrayOutputStream(expected.length);
+                writeEnvelope(sample, actual, JsonEncoding.UTF8);
+                if (!Arrays.equals(expected, actual.toByteArray())) {
+                    log.warn("R快速输出与Jackson输出不一致，已回退到Jackson序列化");
+                    return false;
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("R快速输出自检失败，已回退到Jackson序列化", e);
+            return false;
+        }
+    }
+}
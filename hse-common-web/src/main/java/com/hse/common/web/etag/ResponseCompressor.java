@@ -0,0 +1,133 @@
+package com.hse.common.web.etag;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 响应压缩器
+ * Deflater（含本地内存）和输出缓冲放在有界池中复用，池空时临时创建、用完释放；gzip头尾自行写出，不使用GZIPOutputStream
+ *
+ * @author HSE
+ */
+public class ResponseCompressor {
+
+    public static final String GZIP = "gzip";
+
+    public static final String DEFLATE = "deflate";
+
+    private static final byte[] GZIP_HEADER = {
+            (byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final int level;
+
+    private final BlockingQueue<Compression> pool;
+
+    /**
+     * @param level    压缩级别（0-9，-1为默认级别）
+     * @param poolSize 复用的压缩器数量
+     */
+    public ResponseCompressor(int level, int poolSize) {
+        this.level = level;
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+    }
+
+    /**
+     * 压缩并写出
+     *
+     * @param encoding {@link #GZIP} 或 {@link #DEFLATE}
+     */
+    public void compress(String encoding, byte[] body, OutputStream out) throws IOException {
+        Compression compression = pool.poll();
+        if (compression == null) {
+            compression = new Compression(level);
+        }
+        try {
+            if (GZIP.equals(encoding)) {
+                compression.gzip(body, out);
+            } else {
+                compression.deflate(body, out);
+            }
+        } finally {
+            if (!pool.offer(compression)) {
+                compression.end();
+            }
+        }
+    }
+
+    /**
+     * 释放池中的压缩器
+     */
+    public void destroy() {
+        Compression compression;
+        while ((compression = pool.poll()) != null) {
+            compression.end();
+        }
+    }
+
+    /**
+     * 可复用的压缩上下文
+     */
+    private static final class Compression {
+
+        /**
+         * gzip使用原始deflate流，头尾自行写出
+         */
+        private final Deflater raw;
+
+        /**
+         * HTTP deflate 为zlib格式
+         */
+        private final Deflater zlib;
+
+        private final CRC32 crc = new CRC32();
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private Compression(int level) {
+            this.raw = new Deflater(level, true);
+            this.zlib = new Deflater(level, false);
+        }
+
+        void gzip(byte[] body, OutputStream out) throws IOException {
+            out.write(GZIP_HEADER);
+            write(raw, body, out);
+            crc.reset();
+            crc.update(body, 0, body.length);
+            writeIntLe(out, (int) crc.getValue());
+            writeIntLe(out, body.length);
+        }
+
+        void deflate(byte[] body, OutputStream out) throws IOException {
+            write(zlib, body, out);
+        }
+
+        private void write(Deflater deflater, byte[] body, OutputStream out) throws IOException {
+            deflater.reset();
+            deflater.setInput(body, 0, body.length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+        }
+
+        private static void writeIntLe(OutputStream out, int value) throws IOException {
+            out.write(value & 0xff);
+            out.write((value >> 8) & 0xff);
+            out.write((value >> 16) & 0xff);
+            out.write((value >> 24) & 0xff);
+        }
+
+        void end() {
+            raw.end();
+            zlib.end();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hse.common.web.etag;
+
+import com.hse.common.core.domain.R;
+import com.hse.common.web.stream.StreamingEnvelopeModule;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 标记可计算ETag的响应
+ * 响应体为带timestamp的 {@link R} 且以JSON输出时，由 {@link ResponseEtagFilter} 计算忽略timestamp的ETag；
+ * 流式R不缓冲，直接写出
+ *
+ * @author HSE
+ */
+@ControllerAdvice
+public class ResponseEtagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof R) || !(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+        R<?> r = (R<?>) body;
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        if (StreamingEnvelopeModule.isStreaming(r.getData())) {
+            ShallowEtagHeaderFilter.disableContentCaching(servletRequest);
+        } else if (r.getTimestamp() != null && MediaType.APPLICATION_JSON.isCompatibleWith(selectedContentType)) {
+            servletRequest.setAttribute(ResponseEtagFilter.ENVELOPE_ATTRIBUTE, Boolean.TRUE);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,262 @@
+package com.hse.common.web.etag;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+
+/**
+ * 统一响应ETag与压缩过滤器
+ *
+ * ETag：GET/HEAD请求返回 {@link com.hse.common.core.domain.R} 时，对响应体中除timestamp值以外的内容（code、msg、data、success）
+ * 计算MD5，生成弱ETag；If-None-Match匹配时返回304，不发送响应体。controller已设置ETag或Cache-Control: no-store时不处理
+ *
+ * 压缩：响应体不小于阈值、内容为文本/JSON且客户端接受时使用gzip（优先）或deflate压缩，压缩器与缓冲区复用，
+ * 已设置Content-Encoding时不处理
+ *
+ * 响应在内存中缓冲后统一写出；流式R、SSE等（调用了 {@link ShallowEtagHeaderFilter#disableContentCaching}）不缓冲
+ *
+ * @author HSE
+ */
+public class ResponseEtagFilter extends OncePerRequestFilter {
+
+    /**
+     * 响应体为可计算ETag的R（由 {@link ResponseEtagAdvice} 设置）
+     */
+    public static final String ENVELOPE_ATTRIBUTE = ResponseEtagFilter.class.getName() + ".ENVELOPE";
+
+    /**
+     * 与 ShallowEtagHeaderFilter.disableContentCaching 使用同一属性
+     */
+    private static final String STREAMING_ATTRIBUTE = ShallowEtagHeaderFilter.class.getName() + ".STREAMING";
+
+    private static final byte[] TIMESTAMP_FIELD = "\"timestamp\"".getBytes(StandardCharsets.UTF_8);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ResponseCompressor compressor;
+
+    private final int compressionThreshold;
+
+    /**
+     * @param compressor           压缩器，为null时不压缩
+     * @param compressionThreshold 压缩阈值（字节）
+     */
+    public ResponseEtagFilter(ResponseCompressor compressor, int compressionThreshold) {
+        this.compressor = compressor;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HttpServletResponse responseToUse = response;
+        if (!isAsyncDispatch(request) && !(response instanceof ConditionalContentCachingResponseWrapper)) {
+            responseToUse = new ConditionalContentCachingResponseWrapper(response, request);
+        }
+        filterChain.doFilter(request, responseToUse);
+        if (!isAsyncStarted(request)) {
+            updateResponse(request, responseToUse);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (compressor != null) {
+            compressor.destroy();
+        }
+    }
+
+    private void updateResponse(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            return;
+        }
+        HttpServletResponse rawResponse = (HttpServletResponse) wrapper.getResponse();
+        if (rawResponse.isCommitted() || wrapper.getContentSize() == 0) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        boolean etagEligible = isEtagEligible(request, wrapper);
+        String encoding = compressionEncoding(request, wrapper);
+        if (!etagEligible && encoding == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = wrapper.getContentAsByteArray();
+        if (etagEligible && new ServletWebRequest(request, rawResponse).checkNotModified(etag(body))) {
+            return;
+        }
+        if (encoding == null || HttpMethod.HEAD.matches(request.getMethod())) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        rawResponse.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        if (!containsVary(rawResponse)) {
+            rawResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        compressor.compress(encoding, body, rawResponse.getOutputStream());
+    }
+
+    private boolean isEtagEligible(HttpServletRequest request, ContentCachingResponseWrapper response) {
+        if (request.getAttribute(ENVELOPE_ATTRIBUTE) == null || response.getStatus() != HttpServletResponse.SC_OK) {
+            return false;
+        }
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return false;
+        }
+        if (response.getHeader(HttpHeaders.ETAG) != null) {
+            return false;
+        }
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        return cacheControl == null || !cacheControl.contains("no-store");
+    }
+
+    /**
+     * 选择压缩编码，不压缩时返回null
+     */
+    private String compressionEncoding(HttpServletRequest request, ContentCachingResponseWrapper response) {
+        if (compressor == null || response.getContentSize() < compressionThreshold
+                || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null || !isCompressible(response.getContentType())) {
+            return null;
+        }
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String token : StringUtils.tokenizeToStringArray(acceptEncoding, ",")) {
+            int semicolon = token.indexOf(';');
+            String name = (semicolon < 0 ? token : token.substring(0, semicolon)).trim();
+            if (semicolon >= 0 && token.substring(semicolon + 1).replace(" ", "").matches("q=0(\\.0*)?")) {
+                continue;
+            }
+            if (ResponseCompressor.GZIP.equalsIgnoreCase(name)) {
+                return ResponseCompressor.GZIP;
+            }
+            deflate |= ResponseCompressor.DEFLATE.equalsIgnoreCase(name);
+        }
+        return deflate ? ResponseCompressor.DEFLATE : null;
+    }
+
+    private static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            String subtype = mediaType.getSubtype();
+            return "text".equals(mediaType.getType()) || subtype.equals("json") || subtype.endsWith("+json")
+                    || subtype.equals("xml") || subtype.endsWith("+xml") || subtype.equals("javascript");
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean containsVary(HttpServletResponse response) {
+        Collection<String> values = response.getHeaders(HttpHeaders.VARY);
+        for (String value : values) {
+            if ("*".equals(value.trim()) || value.toLowerCase().contains("accept-encoding")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 弱ETag：MD5(去掉timestamp值的响应体)；R的timestamp在data之后，取最后一个timestamp字段
+     */
+    private static String etag(byte[] body) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        int start = lastIndexOf(body, TIMESTAMP_FIELD);
+        if (start < 0) {
+            digest.update(body);
+        } else {
+            int valueStart = start + TIMESTAMP_FIELD.length;
+            while (valueStart < body.length && (body[valueStart] == ':' || Character.isWhitespace(body[valueStart]))) {
+                valueStart++;
+            }
+            int valueEnd = valueStart;
+            while (valueEnd < body.length && (body[valueEnd] == '-' || (body[valueEnd] >= '0' && body[valueEnd] <= '9'))) {
+                valueEnd++;
+            }
+            digest.update(body, 0, valueStart);
+            digest.update(body, valueEnd, body.length - valueEnd);
+        }
+        byte[] hash = digest.digest();
+        StringBuilder etag = new StringBuilder(37).append("W/\"");
+        for (byte b : hash) {
+            etag.append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+        }
+        return etag.append('"').toString();
+    }
+
+    private static int lastIndexOf(byte[] source, byte[] target) {
+        outer:
+        for (int i = source.length - target.length; i >= 0; i--) {
+            for (int j = 0; j < target.length; j++) {
+                if (source[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 禁用缓冲时直接写出到原始响应
+     */
+    private static final class ConditionalContentCachingResponseWrapper extends ContentCachingResponseWrapper {
+
+        private final HttpServletRequest request;
+
+        private ConditionalContentCachingResponseWrapper(HttpServletResponse response, HttpServletRequest request) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return isContentCachingDisabled() ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return isContentCachingDisabled() ? getResponse().getWriter() : super.getWriter();
+        }
+
+        private boolean isContentCachingDisabled() {
+            return request.getAttribute(STREAMING_ATTRIBUTE) != null;
+        }
+    }
+}
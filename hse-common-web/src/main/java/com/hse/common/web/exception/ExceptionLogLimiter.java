@@ -0,0 +1,116 @@
+package com.hse.common.web.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异常日志限流器
+ * 按异常类型/消息码统计次数，每个统计窗口内同一类异常只允许前N次输出完整日志，
+ * 其余只计数，窗口结束时输出一条汇总日志
+ *
+ * @author HSE
+ */
+@Slf4j
+public class ExceptionLogLimiter implements DisposableBean {
+
+    /**
+     * 统计key数量上限，超出后归入该key
+     */
+    private static final String OVERFLOW_KEY = "OTHER";
+
+    private static final int MAX_KEYS = 1000;
+
+    private final int maxPerWindow;
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param maxPerWindow  每个窗口内同一类异常输出完整日志的次数
+     * @param windowSeconds 统计窗口（秒）
+     */
+    public ExceptionLogLimiter(int maxPerWindow, long windowSeconds) {
+        this.maxPerWindow = maxPerWindow;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hse-exception-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleAtFixedRate(this::rotate, windowSeconds, windowSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 记录一次异常，返回本次是否应输出完整日志
+     */
+    public boolean record(String key) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.size() >= MAX_KEYS
+                    ? counters.computeIfAbsent(OVERFLOW_KEY, k -> new Counter())
+                    : counters.computeIfAbsent(key, k -> new Counter());
+        }
+        counter.total.increment();
+        counter.lastTime = System.currentTimeMillis();
+        return counter.window.incrementAndGet() <= maxPerWindow;
+    }
+
+    /**
+     * 各类异常的统计信息，按累计次数降序
+     */
+    public Map<String, Map<String, Long>> getStats() {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        counters.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().total.sum(), a.getValue().total.sum()))
+                .forEach(entry -> {
+                    Map<String, Long> stats = new LinkedHashMap<>();
+                    stats.put("total", entry.getValue().total.sum());
+                    stats.put("currentWindow", entry.getValue().window.get());
+                    stats.put("lastTime", entry.getValue().lastTime);
+                    result.put(entry.getKey(), stats);
+                });
+        return result;
+    }
+
+    /**
+     * 窗口轮转：输出被抑制的日志汇总，然后清零窗口计数
+     */
+    private void rotate() {
+        try {
+            for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+                long count = entry.getValue().window.getAndSet(0);
+                if (count > maxPerWindow) {
+                    log.error("异常汇总: {} 本窗口共{}次，已省略{}次日志，累计{}次",
+                            entry.getKey(), count, count - maxPerWindow, entry.getValue().total.sum());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("异常日志汇总失败", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        rotate();
+    }
+
+    private static final class Counter {
+
+        private final LongAdder total = new LongAdder();
+
+        private final AtomicLong window = new AtomicLong();
+
+        private volatile long lastTime;
+    }
+}
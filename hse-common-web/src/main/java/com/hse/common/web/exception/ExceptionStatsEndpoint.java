@@ -0,0 +1,25 @@
+package com.hse.common.web.exception;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * 异常统计端点：GET /actuator/exceptions
+ * 返回各类异常（异常类型:消息码）的累计次数、当前窗口次数及最近发生时间
+ *
+ * @author HSE
+ */
+@Endpoint(id = "exceptions")
+@RequiredArgsConstructor
+public class ExceptionStatsEndpoint {
+
+    private final ExceptionLogLimiter exceptionLogLimiter;
+
+    @ReadOperation
+    public Map<String, Map<String, Long>> exceptions() {
+        return exceptionLogLimiter.getStats();
+    }
+}
@@ -6,20 +6,26 @@ import com.hse.common.core.exception.BaseException;
 import com.hse.common.core.exception.ServiceException;
 import com.hse.common.core.utils.MessageUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 /**
  * 全局异常处理器
- * 支持国际化异常消息
+ * 支持国际化异常消息；开启异常日志限流（hse.web.exception-log.enabled=true）后，
+ * 同一类异常每个窗口只输出前N次完整日志，其余计入汇总；异步执行的异常（CompletionException等）按原始异常处理
  *
  * @author HSE
  */
@@ -27,12 +33,20 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * 异常日志限流器（hse.web.exception-log.enabled=true 时存在）
+     */
+    @Autowired(required = false)
+    private ExceptionLogLimiter exceptionLogLimiter;
+
     /**
      * 基础异常
      */
     @ExceptionHandler(BaseException.class)
     public R<Void> handleBaseException(BaseException e) {
-        log.error("业务异常: {}", e.getMessage(), e);
+        if (shouldLog(businessKey(e))) {
+            log.error("业务异常: {}", e.getMessage(), e);
+        }
 
         // 如果异常包含国际化消息码，使用国际化消息
         if (e.getMessageCode() != null) {
@@ -48,7 +62,9 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ServiceException.class)
     public R<Void> handleServiceException(ServiceException e) {
-        log.error("业务异常: {}", e.getMessage(), e);
+        if (shouldLog(businessKey(e))) {
+            log.error("业务异常: {}", e.getMessage(), e);
+        }
 
         // 如果异常包含国际化消息码，使用国际化消息
         if (e.getMessageCode() != null) {
@@ -67,7 +83,9 @@ public class GlobalExceptionHandler {
         String message = e.getBindingResult().getFieldErrors().stream()
                 .map(FieldError::getDefaultMessage)
                 .collect(Collectors.joining(", "));
-        log.error("参数校验失败: {}", message);
+        if (shouldLog(e.getClass().getSimpleName())) {
+            log.error("参数校验失败: {}", message);
+        }
 
         // 使用国际化消息
         String i18nMessage = MessageUtils.getMessage(MessageCode.PARAM_INVALID.getKey(), new Object[]{message});
@@ -82,7 +100,9 @@ public class GlobalExceptionHandler {
         String message = e.getBindingResult().getFieldErrors().stream()
                 .map(FieldError::getDefaultMessage)
                 .collect(Collectors.joining(", "));
-        log.error("参数绑定失败: {}", message);
+        if (shouldLog(e.getClass().getSimpleName())) {
+            log.error("参数绑定失败: {}", message);
+        }
 
         // 使用国际化消息
         String i18nMessage = MessageUtils.getMessage(MessageCode.PARAM_INVALID.getKey(), new Object[]{message});
@@ -97,19 +117,66 @@ public class GlobalExceptionHandler {
         String message = e.getConstraintViolations().stream()
                 .map(ConstraintViolation::getMessage)
                 .collect(Collectors.joining(", "));
-        log.error("参数约束违反: {}", message);
+        if (shouldLog(e.getClass().getSimpleName())) {
+            log.error("参数约束违反: {}", message);
+        }
 
         // 使用国际化消息
         String i18nMessage = MessageUtils.getMessage(MessageCode.PARAM_INVALID.getKey(), new Object[]{message});
         return R.fail(MessageCode.PARAM_INVALID.getCode(), i18nMessage);
     }
 
+    /**
+     * 异步请求超时
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public R<Void> handleAsyncRequestTimeoutException(AsyncRequestTimeoutException e) {
+        if (shouldLog(e.getClass().getSimpleName())) {
+            log.warn("异步请求超时");
+        }
+        return R.fail(MessageCode.REQUEST_TIMEOUT);
+    }
+
+    /**
+     * 异步执行器已满，拒绝任务
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public R<Void> handleTaskRejectedException(TaskRejectedException e) {
+        if (shouldLog(e.getClass().getSimpleName())) {
+            log.warn("异步任务被拒绝: {}", e.getMessage());
+        }
+        return R.fail(MessageCode.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * 异步执行异常，按原始异常处理
+     */
+    @ExceptionHandler({CompletionException.class, ExecutionException.class})
+    public R<Void> handleAsyncException(Exception e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof BaseException) {
+            return handleBaseException((BaseException) cause);
+        }
+        if (cause instanceof TaskRejectedException) {
+            return handleTaskRejectedException((TaskRejectedException) cause);
+        }
+        if (cause instanceof RuntimeException) {
+            return handleRuntimeException((RuntimeException) cause);
+        }
+        return handleException(cause instanceof Exception ? (Exception) cause : e);
+    }
+
     /**
      * 运行时异常
      */
     @ExceptionHandler(RuntimeException.class)
     public R<Void> handleRuntimeException(RuntimeException e) {
-        log.error("运行时异常: {}", e.getMessage(), e);
+        if (shouldLog(e.getClass().getName())) {
+            log.error("运行时异常: {}", e.getMessage(), e);
+        }
         return R.fail(MessageCode.INTERNAL_ERROR);
     }
 
@@ -118,7 +185,23 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public R<Void> handleException(Exception e) {
-        log.error("系统异常: {}", e.getMessage(), e);
+        if (shouldLog(e.getClass().getName())) {
+            log.error("系统异常: {}", e.getMessage(), e);
+        }
         return R.fail(MessageCode.INTERNAL_ERROR);
     }
+
+    /**
+     * 是否输出本次异常日志，未开启限流时始终输出
+     */
+    private boolean shouldLog(String key) {
+        return exceptionLogLimiter == null || exceptionLogLimiter.record(key);
+    }
+
+    /**
+     * 业务异常统计key：异常类型:消息码
+     */
+    private static String businessKey(BaseException e) {
+        return e.getClass().getSimpleName() + ":" + (e.getMessageCode() != null ? e.getMessageCode().name() : e.getCode());
+    }
 }
\ No newline at end of file
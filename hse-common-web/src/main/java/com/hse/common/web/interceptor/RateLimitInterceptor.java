@@ -0,0 +1,120 @@
+package com.hse.common.web.interceptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hse.common.core.constant.HttpStatus;
+import com.hse.common.core.constant.MessageCode;
+import com.hse.common.core.domain.R;
+import com.hse.common.web.annotation.RateLimit;
+import com.hse.common.web.config.RateLimitProperties;
+import com.hse.common.web.ratelimit.RateLimitDimension;
+import com.hse.common.web.ratelimit.RedisRateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+
+/**
+ * 限流拦截器
+ * 先检查 @RateLimit 注解，再依次检查匹配路径的YAML规则，任一规则拒绝即返回429
+ *
+ * @author HSE
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    /**
+     * 登录用户ID的请求属性名，由认证过滤器写入，用于按用户限流
+     */
+    public static final String USER_ID_ATTRIBUTE = "HSE_USER_ID";
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RedisRateLimiter rateLimiter;
+
+    private final RateLimitProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            RateLimit rateLimit = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RateLimit.class);
+            if (rateLimit == null) {
+                rateLimit = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RateLimit.class);
+            }
+            if (rateLimit != null) {
+                String name = StringUtils.hasText(rateLimit.name()) ? rateLimit.name()
+                        : handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+                long wait = rateLimiter.tryAcquire(buildKey(name, rateLimit.dimension(), request),
+                        rateLimit.algorithm(), rateLimit.limit(), rateLimit.timeUnit().toMillis(rateLimit.period()));
+                if (wait > 0) {
+                    reject(response, wait);
+                    return false;
+                }
+            }
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (!PATH_MATCHER.match(rule.getPathPattern(), path)) {
+                continue;
+            }
+            long wait = rateLimiter.tryAcquire(buildKey(rule.getPathPattern(), rule.getDimension(), request),
+                    rule.getAlgorithm(), rule.getLimit(), rule.getPeriodMillis());
+            if (wait > 0) {
+                reject(response, wait);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String buildKey(String name, RateLimitDimension dimension, HttpServletRequest request) {
+        switch (dimension) {
+            case IP:
+                return name + ":ip:" + getClientIp(request);
+            case USER:
+                String userId = getUserId(request);
+                return userId != null ? name + ":user:" + userId : name + ":ip:" + getClientIp(request);
+            case ROUTE:
+            default:
+                return name;
+        }
+    }
+
+    private static String getUserId(HttpServletRequest request) {
+        Object userId = request.getAttribute(USER_ID_ATTRIBUTE);
+        if (userId != null) {
+            return userId.toString();
+        }
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? principal.getName() : null;
+    }
+
+    /**
+     * 客户端IP，不直接读取X-Forwarded-For等请求头（客户端可伪造以绕过限流）
+     * 部署在反向代理之后时配置 server.forward-headers-strategy，由容器按可信代理改写remoteAddr
+     */
+    private static String getClientIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitMillis) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS);
+        response.setHeader("Retry-After", String.valueOf((waitMillis + 999) / 1000));
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), R.fail(MessageCode.TOO_MANY_REQUESTS));
+    }
+}
@@ -0,0 +1,145 @@
+package com.hse.common.web.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 接口指标拦截器
+ * 按处理方法（全限定类名.方法名）记录：
+ * - hse.http.handler：耗时直方图（Timer，发布分位直方图桶），标签 handler、status、code（R的消息码，非R响应为"-"），
+ *   Prometheus中 _count 即按消息码的请求数
+ * - hse.http.handler.active：处理中的请求数
+ *
+ * 请求路径上只有一次Map查找、一次原子加减和Timer记录（无锁）；异步请求从开始到异步结果写出计为一次
+ *
+ * @author HSE
+ */
+public class HandlerMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * 响应的R消息码（由 {@link ResponseCodeAdvice} 写入）
+     */
+    public static final String CODE_ATTRIBUTE = HandlerMetricsInterceptor.class.getName() + ".CODE";
+
+    private static final String START_ATTRIBUTE = HandlerMetricsInterceptor.class.getName() + ".START";
+
+    private static final String TIMER_NAME = "hse.http.handler";
+
+    private static final String ACTIVE_NAME = "hse.http.handler.active";
+
+    private static final String NO_CODE = "-";
+
+    private static final String OTHER_CODE = "OTHER";
+
+    /**
+     * 每个处理方法的 status+code 组合上限，超出后计入OTHER
+     */
+    private static final int MAX_TIMERS_PER_HANDLER = 64;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration maxExpected;
+
+    private final ConcurrentMap<Method, HandlerMetrics> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * 按handler标签共享指标（重载方法标签相同），保证同一Gauge只绑定一个计数器
+     */
+    private final ConcurrentMap<String, HandlerMetrics> handlersByName = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxExpectedMillis 直方图上限（毫秒），超出的请求计入最大的桶
+     */
+    public HandlerMetricsInterceptor(MeterRegistry meterRegistry, long maxExpectedMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxExpected = Duration.ofMillis(maxExpectedMillis);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 异步结果分派时会再次进入，只在首次进入时计数
+        if (handler instanceof HandlerMethod && request.getAttribute(START_ATTRIBUTE) == null) {
+            metrics((HandlerMethod) handler).active.incrementAndGet();
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod) || start == null) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        HandlerMetrics metrics = metrics((HandlerMethod) handler);
+        metrics.active.decrementAndGet();
+        Object code = request.getAttribute(CODE_ATTRIBUTE);
+        metrics.timer(response.getStatus(), code == null ? NO_CODE : code.toString())
+                .record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+    }
+
+    private HandlerMetrics metrics(HandlerMethod handlerMethod) {
+        HandlerMetrics metrics = handlers.get(handlerMethod.getMethod());
+        if (metrics == null) {
+            // 使用全限定类名，不同包下的同名Controller不会共用标签
+            String handler = handlerMethod.getBeanType().getName() + "." + handlerMethod.getMethod().getName();
+            metrics = handlers.computeIfAbsent(handlerMethod.getMethod(),
+                    k -> handlersByName.computeIfAbsent(handler, HandlerMetrics::new));
+        }
+        return metrics;
+    }
+
+    /**
+     * 单个处理方法的指标
+     */
+    private final class HandlerMetrics {
+
+        private final String handler;
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+        private HandlerMetrics(String handler) {
+            this.handler = handler;
+            Gauge.builder(ACTIVE_NAME, active, AtomicInteger::get)
+                    .tag("handler", handler)
+                    .description("处理中的请求数")
+                    .register(meterRegistry);
+        }
+
+        Timer timer(int status, String code) {
+            String key = status + "|" + code;
+            Timer timer = timers.get(key);
+            if (timer != null) {
+                return timer;
+            }
+            if (timers.size() >= MAX_TIMERS_PER_HANDLER) {
+                key = status + "|" + OTHER_CODE;
+                code = OTHER_CODE;
+            }
+            String resolvedCode = code;
+            return timers.computeIfAbsent(key, k -> Timer.builder(TIMER_NAME)
+                    .tag("handler", handler)
+                    .tag("status", String.valueOf(status))
+                    .tag("code", resolvedCode)
+                    .description("接口处理耗时")
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(maxExpected)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.hse.common.web.ratelimit;
+
+/**
+ * 限流算法
+ *
+ * @author HSE
+ */
+public enum RateLimitAlgorithm {
+
+    /**
+     * 令牌桶：按 limit/period 速率补充令牌，允许不超过 limit 的突发
+     */
+    TOKEN_BUCKET,
+
+    /**
+     * 滑动窗口：任意 period 时间段内请求数不超过 limit（相邻两个固定窗口加权近似）
+     */
+    SLIDING_WINDOW
+}
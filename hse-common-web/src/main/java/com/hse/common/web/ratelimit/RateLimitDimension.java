@@ -0,0 +1,24 @@
+package com.hse.common.web.ratelimit;
+
+/**
+ * 限流维度
+ *
+ * @author HSE
+ */
+public enum RateLimitDimension {
+
+    /**
+     * 按接口整体限流
+     */
+    ROUTE,
+
+    /**
+     * 按客户端IP限流
+     */
+    IP,
+
+    /**
+     * 按登录用户限流，未登录时按IP
+     */
+    USER
+}
@@ -0,0 +1,47 @@
+package com.hse.common.web.ratelimit;
+
+import com.hse.common.web.annotation.RateLimit;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 限流注解启动校验
+ * limit 与周期必须大于0（周期按timeUnit换算为毫秒后），否则令牌桶速率为0或无穷大
+ *
+ * @author HSE
+ */
+public class RateLimitValidator implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        Class<?> beanType = ClassUtils.getUserClass(bean);
+        RateLimit typeLimit = AnnotatedElementUtils.findMergedAnnotation(beanType, RateLimit.class);
+        if (typeLimit != null) {
+            validate(beanType.getName(), typeLimit);
+        }
+        ReflectionUtils.doWithMethods(beanType, method -> {
+            RateLimit rateLimit = AnnotatedElementUtils.findMergedAnnotation(method, RateLimit.class);
+            if (rateLimit != null) {
+                validate(beanType.getName() + "." + method.getName(), rateLimit);
+            }
+        }, ReflectionUtils.USER_DECLARED_METHODS);
+        return bean;
+    }
+
+    private static void validate(String target, RateLimit rateLimit) {
+        validate(target, rateLimit.limit(), rateLimit.timeUnit().toMillis(rateLimit.period()));
+    }
+
+    /**
+     * 校验限流参数，不合法时抛出异常
+     */
+    public static void validate(String target, long limit, long periodMillis) {
+        if (limit <= 0 || periodMillis <= 0) {
+            throw new BeanInitializationException(target + " 的限流参数不合法：limit与周期（毫秒）必须大于0，当前 limit="
+                    + limit + "，周期=" + periodMillis + "ms");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.hse.common.web.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于Redis + Lua的分布式限流器
+ * 被Redis拒绝的key会在本地记录建议重试时间，在此之前的请求直接本地拒绝，不再访问Redis
+ *
+ * @author HSE
+ */
+@Slf4j
+public class RedisRateLimiter {
+
+    private static final String KEY_PREFIX = "rate:limit:";
+
+    /**
+     * 本地拒绝表超过该大小时清理已过期条目
+     */
+    private static final int LOCAL_BLOCK_CLEANUP_THRESHOLD = 10000;
+
+    private static final RedisSerializer<String> ARGS_SERIALIZER = StringRedisSerializer.UTF_8;
+
+    private static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final DefaultRedisScript<Long> tokenBucketScript;
+
+    private final DefaultRedisScript<Long> slidingWindowScript;
+
+    /**
+     * 本地拒绝表：key -> 拒绝截止时间（毫秒）
+     */
+    private final Map<String, Long> localBlocks = new ConcurrentHashMap<>();
+
+    public RedisRateLimiter(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.tokenBucketScript = script("lua/rate_limit_token_bucket.lua");
+        this.slidingWindowScript = script("lua/rate_limit_sliding_window.lua");
+    }
+
+    /**
+     * 尝试通过限流
+     *
+     * @param key          限流key
+     * @param algorithm    限流算法
+     * @param limit        每个周期允许的请求数
+     * @param periodMillis 周期（毫秒）
+     * @return 0表示通过，大于0表示被拒绝，值为建议重试等待毫秒数
+     * @throws IllegalArgumentException limit或periodMillis不大于0
+     */
+    public long tryAcquire(String key, RateLimitAlgorithm algorithm, long limit, long periodMillis) {
+        if (limit <= 0 || periodMillis <= 0) {
+            throw new IllegalArgumentException("限流参数必须大于0: limit=" + limit + ", periodMillis=" + periodMillis);
+        }
+        String redisKey = KEY_PREFIX + key;
+        long now = System.currentTimeMillis();
+        Long blockedUntil = localBlocks.get(redisKey);
+        if (blockedUntil != null) {
+            if (blockedUntil > now) {
+                return blockedUntil - now;
+            }
+            localBlocks.remove(redisKey, blockedUntil);
+        }
+
+        Long wait;
+        try {
+            wait = execute(redisKey, algorithm, limit, periodMillis);
+        } catch (Exception e) {
+            // Redis不可用时放行，避免限流组件本身造成故障
+            log.warn("限流检查失败，已放行: {}", redisKey, e);
+            return 0L;
+        }
+        if (wait == null || wait <= 0) {
+            return 0L;
+        }
+        if (localBlocks.size() > LOCAL_BLOCK_CLEANUP_THRESHOLD) {
+            cleanupLocalBlocks(now);
+        }
+        localBlocks.put(redisKey, now + wait);
+        return wait;
+    }
+
+    private Long execute(String redisKey, RateLimitAlgorithm algorithm, long limit, long periodMillis) {
+        List<String> keys = Collections.singletonList(redisKey);
+        if (algorithm == RateLimitAlgorithm.SLIDING_WINDOW) {
+            return redisTemplate.execute(slidingWindowScript, ARGS_SERIALIZER, RESULT_SERIALIZER, keys,
+                    String.valueOf(limit), String.valueOf(periodMillis));
+        }
+        double ratePerMillis = (double) limit / periodMillis;
+        return redisTemplate.execute(tokenBucketScript, ARGS_SERIALIZER, RESULT_SERIALIZER, keys,
+                String.valueOf(limit), String.valueOf(ratePerMillis), "1");
+    }
+
+    private void cleanupLocalBlocks(long now) {
+        Iterator<Map.Entry<String, Long>> iterator = localBlocks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() <= now) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static DefaultRedisScript<Long> script(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType(Long.class);
+        return script;
+    }
+}
@@ -0,0 +1,206 @@
+package com.hse.common.web.stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.hse.common.core.constant.MessageCode;
+import com.hse.common.core.domain.R;
+import com.hse.common.core.exception.BaseException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 流式统一响应
+ * Controller可以返回data为 {@link Stream}、{@link Iterator} 或可关闭的 {@link Iterable}（如MyBatis Cursor）的 {@link R}，
+ * 元素逐个序列化写入响应流，每N个元素flush一次，不在内存中构建完整列表和完整JSON
+ *
+ * 写出顺序与普通R一致：code、msg、data、timestamp、success。写出期间发生异常时，data数组正常结束并追加错误尾部，
+ * success置为false，如：
+ * <pre>
+ * {"code":"0000","msg":"操作成功","data":[...已写出的元素],"error":{"code":"0006","msg":"系统内部错误"},"timestamp":1700000000000,"success":false}
+ * </pre>
+ * 此时响应头已发送，HTTP状态码仍为200，调用方需检查 success / error
+ *
+ * 说明：
+ * - 使用阻塞的Servlet输出流，客户端读取慢时写入阻塞，由此形成背压，服务端不会堆积未发送的数据
+ * - 每个元素先写入小缓冲再输出，元素序列化中途失败也不会产生残缺JSON
+ * - 写完或失败后关闭数据源（Stream/Cursor），Cursor需要在序列化期间保持数据库连接（如在事务中读取，或自行管理SqlSession）
+ *
+ * @author HSE
+ */
+@Slf4j
+public class StreamingEnvelopeModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param flushSize 每写出多少个元素flush一次
+     */
+    public StreamingEnvelopeModule(int flushSize) {
+        super("HseStreamingEnvelopeModule");
+        int size = Math.max(1, flushSize);
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                      JsonSerializer<?> serializer) {
+                if (beanDesc.getBeanClass() == R.class) {
+                    return new StreamingEnvelopeSerializer((JsonSerializer<Object>) serializer, size);
+                }
+                return serializer;
+            }
+        });
+    }
+
+    /**
+     * data是否为流式数据
+     */
+    public static boolean isStreaming(Object data) {
+        return data instanceof Stream || data instanceof Iterator
+                || (data instanceof Iterable && data instanceof Closeable);
+    }
+
+    /**
+     * R序列化器：data为流式数据时逐个写出元素，否则交给默认的Bean序列化器
+     */
+    private static final class StreamingEnvelopeSerializer extends StdSerializer<Object>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private static final long serialVersionUID = 1L;
+
+        private final JsonSerializer<Object> delegate;
+
+        private final int flushSize;
+
+        private StreamingEnvelopeSerializer(JsonSerializer<Object> delegate, int flushSize) {
+            super(Object.class);
+            this.delegate = delegate;
+            this.flushSize = flushSize;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) delegate).resolve(provider);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer) {
+                JsonSerializer<?> contextual = ((ContextualSerializer) delegate).createContextual(provider, property);
+                if (contextual != delegate) {
+                    return new StreamingEnvelopeSerializer((JsonSerializer<Object>) contextual, flushSize);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            R<?> r = (R<?>) value;
+            if (!isStreaming(r.getData())) {
+                delegate.serialize(value, gen, provider);
+                return;
+            }
+            gen.writeStartObject(r);
+            if (r.getCode() != null) {
+                gen.writeStringField("code", r.getCode());
+            }
+            if (r.getMsg() != null) {
+                gen.writeStringField("msg", r.getMsg());
+            }
+            gen.writeFieldName("data");
+            R<?> error = writeElements(r.getData(), gen, provider);
+            if (error != null) {
+                gen.writeObjectFieldStart("error");
+                if (error.getCode() != null) {
+                    gen.writeStringField("code", error.getCode());
+                }
+                if (error.getMsg() != null) {
+                    gen.writeStringField("msg", error.getMsg());
+                }
+                gen.writeEndObject();
+            }
+            if (r.getTimestamp() != null) {
+                gen.writeNumberField("timestamp", r.getTimestamp());
+            }
+            gen.writeBooleanField("success", error == null && r.isSuccess());
+            gen.writeEndObject();
+        }
+
+        /**
+         * 写出data数组，返回错误尾部（无错误时为null）；写出响应流失败（如客户端断开）时直接抛出
+         */
+        private R<?> writeElements(Object data, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray();
+            long count = 0;
+            R<?> error = null;
+            try {
+                Iterator<?> iterator = iterator(data);
+                while (iterator.hasNext()) {
+                    TokenBuffer buffer = new TokenBuffer(gen.getCodec(), false);
+                    provider.defaultSerializeValue(iterator.next(), buffer);
+                    buffer.serialize(gen);
+                    if (++count % flushSize == 0) {
+                        gen.flush();
+                    }
+                }
+            } catch (RuntimeException | JsonMappingException e) {
+                log.error("流式响应写出中断，已写出{}个元素", count, e);
+                error = toError(e);
+            } finally {
+                close(data);
+            }
+            gen.writeEndArray();
+            return error;
+        }
+
+        private static Iterator<?> iterator(Object data) {
+            if (data instanceof Stream) {
+                return ((Stream<?>) data).iterator();
+            }
+            if (data instanceof Iterator) {
+                return (Iterator<?>) data;
+            }
+            return ((Iterable<?>) data).iterator();
+        }
+
+        private static void close(Object data) {
+            if (data instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) data).close();
+                } catch (Exception e) {
+                    log.warn("关闭流式数据源失败", e);
+                }
+            }
+        }
+
+        /**
+         * 错误尾部的消息码，与全局异常处理器一致
+         */
+        private static R<?> toError(Exception e) {
+            if (e instanceof BaseException) {
+                BaseException be = (BaseException) e;
+                return be.getMessageCode() != null ? R.fail(be.getMessageCode(), be.getArgs()) : R.fail(be.getCode(), be.getMessage());
+            }
+            return R.fail(MessageCode.INTERNAL_ERROR);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+-- 滑动窗口限流（当前窗口计数 + 上一窗口按剩余比例加权）
+-- KEYS[1] 限流key
+-- ARGV[1] 窗口内允许的请求数  ARGV[2] 窗口长度（毫秒）
+-- 返回 0 表示通过，大于0表示拒绝且为建议重试等待毫秒数
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local current = math.floor(now / window)
+local elapsed = now - current * window
+
+local counts = redis.call('HMGET', KEYS[1], tostring(current), tostring(current - 1))
+local currentCount = tonumber(counts[1]) or 0
+local previousCount = tonumber(counts[2]) or 0
+local estimated = previousCount * (window - elapsed) / window + currentCount
+
+if estimated + 1 > limit then
+    local remaining = window - elapsed
+    if previousCount > 0 then
+        -- 上一窗口权重随时间线性下降，估算降到阈值以下所需时间
+        local excess = estimated + 1 - limit
+        remaining = math.min(remaining, math.ceil(excess * window / previousCount))
+    end
+    return math.max(1, remaining)
+end
+
+redis.call('HINCRBY', KEYS[1], tostring(current), 1)
+redis.call('HDEL', KEYS[1], tostring(current - 2))
+redis.call('PEXPIRE', KEYS[1], window * 2)
+return 0
@@ -0,0 +1,108 @@
+package com.hse.common.web.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hse.common.core.domain.R;
+import com.hse.common.web.config.JacksonConfig;
+import com.hse.common.web.converter.JsonSamples.UserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hse.common.web.converter.JsonSamples.fullUser;
+import static com.hse.common.web.converter.JsonSamples.sparseUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * fastjson2转换器与Jackson（JacksonConfig）的一致性
+ * 紧凑输出时要求字节一致，读取Jackson输出的JSON要求还原出相同的对象
+ *
+ * @author HSE
+ */
+class Fastjson2HttpMessageConverterTest {
+
+    private static final Type USER_LIST_TYPE = new ParameterizedTypeReference<R<List<UserDTO>>>() {
+    }.getType();
+
+    private ObjectMapper objectMapper;
+
+    private Fastjson2HttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder(), "production", "reflection", 100);
+        converter = new Fastjson2HttpMessageConverter(objectMapper);
+    }
+
+    @Test
+    void selfCheckPasses() {
+        assertThat(converter.isEnabled()).isTrue();
+    }
+
+    @Test
+    void writesUserListLikeJackson() throws Exception {
+        R<List<UserDTO>> r = new R<>("0000", "操作成功", Arrays.asList(fullUser(), sparseUser()));
+
+        assertThat(write(r)).isEqualTo(new String(objectMapper.writeValueAsBytes(r), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesPropertiesInDeclarationOrder() throws Exception {
+        String json = write(new R<>("0000", "ok", fullUser()));
+
+        assertThat(json).containsSubsequence("\"create_time\"", "\"user_id\"", "\"user_name\"", "\"mobile\"",
+                "\"birthday\"", "\"login_time\"", "\"last_login\"", "\"enabled\"", "\"tags\"", "\"attributes\"");
+        assertThat(json).containsSubsequence("\"code\"", "\"msg\"", "\"data\"", "\"timestamp\"", "\"success\"");
+    }
+
+    @Test
+    void writesDatesInConfiguredFormat() throws Exception {
+        String json = write(new R<>("0000", "ok", fullUser()));
+
+        assertThat(json).contains("\"create_time\":\"2024-01-02 03:04:05\"", "\"birthday\":\"1990-12-31\"",
+                "\"login_time\":\"08:30:00\"", "\"last_login\":\"2024-01-02 03:04:05\"");
+    }
+
+    @Test
+    void omitsNullPropertiesLikeJackson() throws Exception {
+        R<UserDTO> r = new R<>("0001", null, sparseUser());
+        String json = write(r);
+
+        assertThat(json).doesNotContain("\"msg\"", "\"user_name\"", "\"mobile\"", "\"create_time\"", "\"tags\"");
+        assertThat(json).isEqualTo(new String(objectMapper.writeValueAsBytes(r), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesEmptyEnvelopeLikeJackson() throws Exception {
+        R<Object> r = new R<>("0001", null, null);
+
+        assertThat(write(r)).isEqualTo(new String(objectMapper.writeValueAsBytes(r), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readsJacksonOutput() throws Exception {
+        R<List<UserDTO>> r = new R<>("0000", "操作成功", Arrays.asList(fullUser(), sparseUser()));
+        MockHttpInputMessage input = new MockHttpInputMessage(objectMapper.writeValueAsBytes(r));
+        input.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        R<List<UserDTO>> read = (R<List<UserDTO>>) converter.read(USER_LIST_TYPE, null, input);
+
+        assertThat(read).isEqualTo(r);
+        assertThat(read.getData().get(0)).isInstanceOf(UserDTO.class);
+    }
+
+    private String write(Object value) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(value, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsString(StandardCharsets.UTF_8);
+    }
+}
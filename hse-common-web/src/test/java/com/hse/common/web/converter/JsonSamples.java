@@ -0,0 +1,103 @@
+package com.hse.common.web.converter;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON转换器测试及基准共用的样例数据
+ *
+ * @author HSE
+ */
+final class JsonSamples {
+
+    private JsonSamples() {
+    }
+
+    /**
+     * 各字段都有值的用户，文本包含需要转义的字符
+     */
+    static UserDTO fullUser() {
+        UserDTO user = new UserDTO();
+        user.setCreateTime(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        user.setUserId(10001L);
+        user.setUserName("张三 \"zs\"\\\n\t<>&");
+        user.setPhoneNumber("13800000000");
+        user.setBirthday(LocalDate.of(1990, 12, 31));
+        user.setLoginTime(LocalTime.of(8, 30));
+        // GMT+8 2024-01-02 03:04:05
+        user.setLastLogin(new Date(1704135845000L));
+        user.setEnabled(Boolean.TRUE);
+        user.setTags(Arrays.asList("admin", null, "ops"));
+        Map<String, Integer> attributes = new LinkedHashMap<>();
+        attributes.put("loginCount", 3);
+        attributes.put("level", 1);
+        user.setAttributes(attributes);
+        return user;
+    }
+
+    /**
+     * 大部分字段为null的用户
+     */
+    static UserDTO sparseUser() {
+        UserDTO user = new UserDTO();
+        user.setUserId(10002L);
+        user.setEnabled(Boolean.FALSE);
+        user.setAttributes(Collections.emptyMap());
+        return user;
+    }
+
+    /**
+     * 指定数量的用户列表
+     */
+    static List<UserDTO> users(int size) {
+        List<UserDTO> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserDTO user = i % 2 == 0 ? fullUser() : sparseUser();
+            user.setUserId(10000L + i);
+            users.add(user);
+        }
+        return users;
+    }
+
+    @Data
+    static class BaseDTO {
+
+        private LocalDateTime createTime;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class UserDTO extends BaseDTO {
+
+        private Long userId;
+
+        private String userName;
+
+        @JsonProperty("mobile")
+        private String phoneNumber;
+
+        private LocalDate birthday;
+
+        private LocalTime loginTime;
+
+        private Date lastLogin;
+
+        private Boolean enabled;
+
+        private List<String> tags;
+
+        private Map<String, Integer> attributes;
+    }
+}
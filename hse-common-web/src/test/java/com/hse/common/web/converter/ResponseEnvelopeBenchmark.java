@@ -0,0 +1,130 @@
+package com.hse.common.web.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hse.common.core.domain.R;
+import com.hse.common.web.config.JacksonConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static com.hse.common.web.converter.JsonSamples.fullUser;
+import static com.hse.common.web.converter.JsonSamples.users;
+
+/**
+ * R快速输出与JacksonConfig路径的吞吐对比
+ * 两条路径输出字节一致（Setup中校验，另见 ResponseEnvelopeHttpMessageConverterTest），因此只比较每秒操作数
+ *
+ * 运行：在IDE中执行main，或 mvn -pl hse-common-web test-compile 后以测试classpath运行本类
+ *
+ * @author HSE
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEnvelopeBenchmark {
+
+    /**
+     * data结构：none 无data；user 单个用户；users R&lt;List&lt;UserDTO&gt;&gt;（50个）
+     */
+    @Param({"none", "user", "users"})
+    public String shape;
+
+    private R<Object> response;
+
+    private MappingJackson2HttpMessageConverter jackson;
+
+    private ResponseEnvelopeHttpMessageConverter fastPath;
+
+    private final ReusableOutputMessage output = new ReusableOutputMessage();
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder(), "production", "reflection", 100);
+        jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        fastPath = new ResponseEnvelopeHttpMessageConverter(objectMapper);
+        if (!fastPath.isFastPathEnabled()) {
+            throw new IllegalStateException("R快速输出自检未通过");
+        }
+        Object data = "none".equals(shape) ? null : "user".equals(shape) ? fullUser() : users(50);
+        response = new R<>("0000", "操作成功", data);
+        if (!Arrays.equals(write(jackson), write(fastPath))) {
+            throw new IllegalStateException("R快速输出与Jackson输出不一致");
+        }
+    }
+
+    @Benchmark
+    public int jackson() throws IOException {
+        writeTo(jackson);
+        return output.body.size();
+    }
+
+    @Benchmark
+    public int fastPath() throws IOException {
+        writeTo(fastPath);
+        return output.body.size();
+    }
+
+    private byte[] write(MappingJackson2HttpMessageConverter converter) throws IOException {
+        writeTo(converter);
+        return output.body.toByteArray();
+    }
+
+    private void writeTo(MappingJackson2HttpMessageConverter converter) throws IOException {
+        output.reset();
+        converter.write(response, MediaType.APPLICATION_JSON, output);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ResponseEnvelopeBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * 可复用的输出消息，避免两条路径的对比受缓冲区分配影响
+     */
+    private static final class ReusableOutputMessage implements HttpOutputMessage {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(16 * 1024);
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private void reset() {
+            body.reset();
+            headers.clear();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.hse.common.web.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hse.common.core.domain.R;
+import com.hse.common.web.config.JacksonConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.hse.common.web.converter.JsonSamples.fullUser;
+import static com.hse.common.web.converter.JsonSamples.sparseUser;
+import static com.hse.common.web.converter.JsonSamples.users;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * R快速输出与Jackson（JacksonConfig）路径的字节一致性
+ * 覆盖不同语言的消息文本、默认Locale、data结构、配置档及响应编码
+ *
+ * @author HSE
+ */
+class ResponseEnvelopeHttpMessageConverterTest {
+
+    private static final Locale DEFAULT_LOCALE = Locale.getDefault();
+
+    private static final List<Locale> LOCALES = Arrays.asList(Locale.SIMPLIFIED_CHINESE, Locale.US,
+            new Locale("tr", "TR"), new Locale("ar", "SA"), Locale.JAPAN);
+
+    /**
+     * 各语言的消息文本，包含需要转义的字符、非BMP字符及从右到左的文字
+     */
+    private static final Map<Locale, String> MESSAGES = new LinkedHashMap<>();
+
+    static {
+        MESSAGES.put(Locale.SIMPLIFIED_CHINESE, "操作成功 \"ok\"\\\n\t<>&");
+        MESSAGES.put(Locale.US, "Operation succeeded: İstanbul ı I");
+        MESSAGES.put(new Locale("tr", "TR"), "İşlem başarılı \u0000\u001f");
+        MESSAGES.put(new Locale("ar", "SA"), "تمت العملية بنجاح ‏");
+        MESSAGES.put(Locale.JAPAN, "処理が成功しました 😀 🎉");
+    }
+
+    @AfterEach
+    void restoreLocale() {
+        Locale.setDefault(DEFAULT_LOCALE);
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    static Stream<Arguments> cases() {
+        List<Arguments> cases = new ArrayList<>();
+        for (String profile : Arrays.asList("production", "development")) {
+            for (Locale locale : LOCALES) {
+                for (Object data : dataShapes()) {
+                    cases.add(Arguments.of(profile, locale, data));
+                }
+            }
+        }
+        return cases.stream();
+    }
+
+    private static List<Object> dataShapes() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("userId", 1L);
+        map.put("nested", Collections.singletonMap("key", Arrays.asList(1, "a", null)));
+        map.put("empty", Collections.emptyList());
+        return Arrays.asList(
+                "",
+                "plain text",
+                42,
+                3.14,
+                Boolean.FALSE,
+                Collections.emptyList(),
+                Collections.emptyMap(),
+                new int[]{1, 2, 3},
+                map,
+                fullUser(),
+                sparseUser(),
+                users(20),
+                new R<>("0000", "nested", fullUser()));
+    }
+
+    @ParameterizedTest(name = "{0} {1} {2}")
+    @MethodSource("cases")
+    void fastPathMatchesJacksonBytes(String profile, Locale locale, Object data) throws Exception {
+        Locale.setDefault(locale);
+        LocaleContextHolder.setLocale(locale);
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder(), profile, "reflection", 100);
+        ResponseEnvelopeHttpMessageConverter converter = new ResponseEnvelopeHttpMessageConverter(objectMapper);
+        MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        assertThat(converter.isFastPathEnabled()).isTrue();
+
+        for (R<Object> r : Arrays.asList(new R<>("0000", MESSAGES.get(locale), data),
+                new R<>("0001", null, data), new R<>(null, MESSAGES.get(locale), null))) {
+            for (MediaType mediaType : Arrays.asList(MediaType.APPLICATION_JSON,
+                    new MediaType("application", "json", StandardCharsets.UTF_16BE))) {
+                assertThat(write(converter, r, mediaType)).isEqualTo(write(jackson, r, mediaType));
+            }
+        }
+    }
+
+    private static byte[] write(MappingJackson2HttpMessageConverter converter, Object value, MediaType mediaType)
+            throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(value, mediaType, output);
+        return output.getBodyAsBytes();
+    }
+}